@@ -0,0 +1,9 @@
+package com.example.librarymanagement.audit;
+
+public enum AuditAction {
+	CREATE,
+	UPDATE,
+	DELETE,
+	CHECKOUT,
+	RETURN
+}
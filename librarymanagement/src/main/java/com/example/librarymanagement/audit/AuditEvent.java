@@ -0,0 +1,47 @@
+package com.example.librarymanagement.audit;
+
+/**
+ * Mutable slot of the {@link AuditRingBuffer}. Instances are allocated once
+ * when the buffer is created and overwritten in place by producers.
+ */
+public final class AuditEvent {
+	private AuditAction action;
+	private Long bookId;
+	private String actor;
+	private Long beforeVersion;
+	private Long afterVersion;
+	private long timestamp;
+
+	void set(AuditAction action, Long bookId, String actor, Long beforeVersion, Long afterVersion, long timestamp) {
+		this.action = action;
+		this.bookId = bookId;
+		this.actor = actor;
+		this.beforeVersion = beforeVersion;
+		this.afterVersion = afterVersion;
+		this.timestamp = timestamp;
+	}
+
+	public AuditAction getAction() {
+		return action;
+	}
+
+	public Long getBookId() {
+		return bookId;
+	}
+
+	public String getActor() {
+		return actor;
+	}
+
+	public Long getBeforeVersion() {
+		return beforeVersion;
+	}
+
+	public Long getAfterVersion() {
+		return afterVersion;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+}
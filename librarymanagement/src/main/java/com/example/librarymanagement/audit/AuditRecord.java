@@ -0,0 +1,15 @@
+package com.example.librarymanagement.audit;
+
+import java.time.Instant;
+
+/**
+ * One line of the audit log as it is stored on disk and returned by the API.
+ */
+public record AuditRecord(Instant timestamp, AuditAction action, Long bookId, String actor, Long beforeVersion,
+		Long afterVersion) {
+
+	static AuditRecord from(AuditEvent event) {
+		return new AuditRecord(Instant.ofEpochMilli(event.getTimestamp()), event.getAction(), event.getBookId(),
+				event.getActor(), event.getBeforeVersion(), event.getAfterVersion());
+	}
+}
@@ -0,0 +1,113 @@
+package com.example.librarymanagement.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Preallocated multi-producer / single-consumer ring buffer for audit events.
+ * Producers claim a sequence with a CAS, fill the slot in place and publish it
+ * by storing the sequence into {@code published}; the consumer only advances
+ * over contiguously published slots, so no locks are taken on either side.
+ */
+public class AuditRingBuffer {
+	private static final int SPINS_BEFORE_PARK = 100;
+
+	private final AuditEvent[] slots;
+	private final AtomicLongArray published;
+	private final int mask;
+	private final OverflowPolicy overflowPolicy;
+
+	private final AtomicLong claimed = new AtomicLong();
+	private final AtomicLong consumed = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	public AuditRingBuffer(int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Audit buffer capacity must be a power of two, got: " + capacity);
+		}
+		this.slots = new AuditEvent[capacity];
+		this.published = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			slots[i] = new AuditEvent();
+			published.set(i, -1L);
+		}
+		this.mask = capacity - 1;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Publishes one event. Returns {@code false} only when the buffer is full
+	 * and the overflow policy is {@link OverflowPolicy#DROP}.
+	 */
+	public boolean publish(AuditAction action, Long bookId, String actor, Long beforeVersion, Long afterVersion,
+			long timestamp) {
+		long sequence = claim();
+		if (sequence < 0) {
+			dropped.incrementAndGet();
+			return false;
+		}
+		int index = (int) sequence & mask;
+		slots[index].set(action, bookId, actor, beforeVersion, afterVersion, timestamp);
+		published.lazySet(index, sequence);
+		return true;
+	}
+
+	private long claim() {
+		int spins = 0;
+		while (true) {
+			long sequence = claimed.get();
+			if (sequence - consumed.get() >= slots.length) {
+				if (overflowPolicy == OverflowPolicy.DROP) {
+					return -1L;
+				}
+				if (++spins < SPINS_BEFORE_PARK) {
+					Thread.onSpinWait();
+				} else {
+					LockSupport.parkNanos(50_000L);
+				}
+				continue;
+			}
+			if (claimed.compareAndSet(sequence, sequence + 1)) {
+				return sequence;
+			}
+		}
+	}
+
+	/**
+	 * Hands up to {@code maxBatch} published events to {@code handler} in
+	 * sequence order. Slots are released only after the handler returns, so
+	 * the handler may read the event but must not keep a reference to it.
+	 * Must be called from a single consumer thread.
+	 */
+	public int drain(Consumer<AuditEvent> handler, int maxBatch) {
+		long next = consumed.get();
+		int count = 0;
+		while (count < maxBatch) {
+			int index = (int) next & mask;
+			if (published.get(index) != next) {
+				break;
+			}
+			handler.accept(slots[index]);
+			next++;
+			count++;
+		}
+		if (count > 0) {
+			consumed.lazySet(next);
+		}
+		return count;
+	}
+
+	public int size() {
+		return (int) (claimed.get() - consumed.get());
+	}
+
+	public int capacity() {
+		return slots.length;
+	}
+
+	public long droppedCount() {
+		return dropped.get();
+	}
+}
@@ -0,0 +1,223 @@
+package com.example.librarymanagement.audit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.librarymanagement.audit.MappedSegmentLog.Position;
+import com.example.librarymanagement.entity.Book;
+import com.example.librarymanagement.support.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Records book mutations without putting disk I/O on the request path.
+ * Writers only publish into an {@link AuditRingBuffer}; a daemon thread drains
+ * it in batches into a {@link MappedSegmentLog}. Events are published after
+ * the surrounding transaction commits, so rolled-back changes are not audited
+ * and the recorded version is the one actually stored. A per-book index of
+ * record positions lets history queries read only that book's records.
+ */
+@Service
+public class AuditService {
+	public static final String ACTOR_HEADER = "X-Actor";
+	private static final String ANONYMOUS = "anonymous";
+	private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+	private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	private final AuditRingBuffer ringBuffer;
+	private final MappedSegmentLog segmentLog;
+	private final ObjectMapper objectMapper;
+	private final int batchSize;
+	private final Map<Long, Queue<Position>> index = new ConcurrentHashMap<>();
+	private long indexedFromSegment;
+	private long reportedDrops;
+	private long lastDropReport;
+
+	private final boolean enabled;
+	private volatile boolean running;
+	private Thread consumer;
+
+	public AuditService(ObjectMapper objectMapper,
+			@Value("${audit.dir}") String directory,
+			@Value("${audit.buffer-size:8192}") int bufferSize,
+			@Value("${audit.batch-size:512}") int batchSize,
+			@Value("${audit.segment-bytes:4194304}") int segmentBytes,
+			@Value("${audit.retention:365d}") String retention,
+			@Value("${audit.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+			@Value("${audit.enabled:true}") boolean enabled) {
+		this.objectMapper = objectMapper;
+		this.enabled = enabled;
+		this.ringBuffer = new AuditRingBuffer(bufferSize, overflowPolicy);
+		this.segmentLog = new MappedSegmentLog(Path.of(directory), segmentBytes,
+				DurationStyle.detectAndParse(retention));
+		this.batchSize = batchSize;
+		this.segmentLog.scan((position, bytes) -> {
+			try {
+				addToIndex(objectMapper.readValue(bytes, AuditRecord.class).bookId(), position);
+			} catch (IOException e) {
+				log.warn("Skipping unreadable audit record in segment {}", position.segment());
+			}
+		});
+		this.indexedFromSegment = segmentLog.oldestSegment();
+	}
+
+	@PostConstruct
+	void start() {
+		running = true;
+		consumer = new Thread(this::consume, "audit-writer");
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+
+	@PreDestroy
+	void stop() throws IOException, InterruptedException {
+		running = false;
+		LockSupport.unpark(consumer);
+		consumer.join(TimeUnit.SECONDS.toMillis(5));
+		segmentLog.close();
+	}
+
+	/**
+	 * Audits a mutation of {@code book}. The id and resulting version are read
+	 * from the entity once the transaction has committed.
+	 */
+	public void record(AuditAction action, Book book, Long beforeVersion) {
+		if (!enabled) {
+			return;
+		}
+		String actor = currentActor();
+		AfterCommit.run(() -> publish(action, book.getId(), actor, beforeVersion, book.getVersion()));
+	}
+
+	/** Audits the deletion of a book that is no longer available as an entity. */
+	public void recordDelete(Long bookId) {
+		if (!enabled) {
+			return;
+		}
+		String actor = currentActor();
+		AfterCommit.run(() -> publish(AuditAction.DELETE, bookId, actor, null, null));
+	}
+
+	/**
+	 * Returns the audit trail of one book, oldest first. Only that book's
+	 * records are read. Events still waiting in the ring buffer are not
+	 * visible yet.
+	 */
+	public List<AuditRecord> history(Long bookId) {
+		Queue<Position> positions = index.get(bookId);
+		if (positions == null) {
+			return List.of();
+		}
+		List<AuditRecord> records = new ArrayList<>();
+		for (Position position : positions) {
+			byte[] bytes = segmentLog.read(position);
+			if (bytes == null) {
+				continue; // segment removed by retention
+			}
+			try {
+				records.add(objectMapper.readValue(bytes, AuditRecord.class));
+			} catch (IOException e) {
+				log.warn("Skipping unreadable audit record in segment {}", position.segment());
+			}
+		}
+		return records;
+	}
+
+	public long droppedCount() {
+		return ringBuffer.droppedCount();
+	}
+
+	// a full buffer is counted by the ring buffer; the writer thread reports it, never the request thread
+	private void publish(AuditAction action, Long bookId, String actor, Long beforeVersion, Long afterVersion) {
+		ringBuffer.publish(action, bookId, actor, beforeVersion, afterVersion, System.currentTimeMillis());
+	}
+
+	private void consume() {
+		while (running || ringBuffer.size() > 0) {
+			int drained = ringBuffer.drain(this::write, batchSize);
+			if (drained > 0) {
+				segmentLog.flush();
+			} else if (running) {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+			} else {
+				// claimed slots that will never be published; nothing left to wait for
+				break;
+			}
+			reportDrops(false);
+		}
+		reportDrops(true);
+	}
+
+	/** Logs events dropped since the last report, at most once per interval unless forced. */
+	private void reportDrops(boolean force) {
+		long now = System.nanoTime();
+		if (!force && now - lastDropReport < DROP_REPORT_INTERVAL_NANOS) {
+			return;
+		}
+		long dropped = ringBuffer.droppedCount();
+		if (dropped > reportedDrops) {
+			log.warn("Audit buffer full, dropped {} events ({} in total)", dropped - reportedDrops, dropped);
+			reportedDrops = dropped;
+		}
+		lastDropReport = now;
+	}
+
+	private void write(AuditEvent event) {
+		try {
+			Position position = segmentLog.append(objectMapper.writeValueAsBytes(AuditRecord.from(event)));
+			addToIndex(event.getBookId(), position);
+			if (segmentLog.oldestSegment() != indexedFromSegment) {
+				pruneIndex(segmentLog.oldestSegment());
+			}
+		} catch (RuntimeException | JsonProcessingException e) {
+			log.error("Failed to write audit event for book {}", event.getBookId(), e);
+		}
+	}
+
+	private void addToIndex(Long bookId, Position position) {
+		if (bookId != null) {
+			index.computeIfAbsent(bookId, id -> new ConcurrentLinkedQueue<>()).add(position);
+		}
+	}
+
+	/** Drops positions in segments removed by retention; runs on rotation only. */
+	private void pruneIndex(long oldestSegment) {
+		index.values().forEach(positions -> {
+			Position head;
+			while ((head = positions.peek()) != null && head.segment() < oldestSegment) {
+				positions.poll();
+			}
+		});
+		index.values().removeIf(Queue::isEmpty);
+		indexedFromSegment = oldestSegment;
+	}
+
+	private static String currentActor() {
+		if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+			String actor = attributes.getRequest().getHeader(ACTOR_HEADER);
+			if (actor != null && !actor.isBlank()) {
+				return actor;
+			}
+		}
+		return ANONYMOUS;
+	}
+}
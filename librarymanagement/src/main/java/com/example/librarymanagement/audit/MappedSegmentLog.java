@@ -0,0 +1,261 @@
+package com.example.librarymanagement.audit;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log made of fixed-size, memory-mapped segment files. Records are
+ * newline-terminated; the unused tail of a segment stays zero-filled, which is
+ * how readers find the end of the data. On open, appending resumes at the end
+ * of the newest segment if it has room, so restarts do not create segments.
+ * A full segment is sealed by stamping its modification time, and sealed
+ * segments older than the retention period are deleted. Every append returns
+ * a {@link Position} so callers can index records and read them back without
+ * scanning.
+ */
+public class MappedSegmentLog implements AutoCloseable {
+	private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{10})\\.log");
+
+	/** Location of one record: segment number, byte offset and length without the newline. */
+	public record Position(long segment, int offset, int length) {
+	}
+
+	private final Path directory;
+	private final int segmentBytes;
+	private final Duration retention;
+
+	private long segmentIndex;
+	private volatile long oldestSegment;
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+
+	public MappedSegmentLog(Path directory, int segmentBytes, Duration retention) {
+		if (segmentBytes <= 0 || retention.isNegative() || retention.isZero()) {
+			throw new IllegalArgumentException("Segment size and retention must be positive");
+		}
+		this.directory = directory;
+		this.segmentBytes = segmentBytes;
+		this.retention = retention;
+		try {
+			Files.createDirectories(directory);
+			List<Path> existing = segments();
+			this.segmentIndex = existing.isEmpty() ? 0 : indexOf(existing.get(existing.size() - 1));
+			if (!existing.isEmpty() && resume(existing.get(existing.size() - 1))) {
+				enforceRetention();
+			} else {
+				rotate();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open audit log in " + directory, e);
+		}
+	}
+
+	/**
+	 * Appends one record. A trailing newline is added; records larger than a
+	 * whole segment are rejected.
+	 */
+	public synchronized Position append(byte[] record) {
+		int length = record.length + 1;
+		if (length > segmentBytes) {
+			throw new IllegalArgumentException("Audit record of " + length + " bytes exceeds segment size");
+		}
+		try {
+			if (buffer.remaining() < length) {
+				rotate();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot rotate audit log segment", e);
+		}
+		Position position = new Position(segmentIndex, buffer.position(), record.length);
+		buffer.put(record);
+		buffer.put((byte) '\n');
+		return position;
+	}
+
+	/** Forces written records of the current segment to storage. */
+	public synchronized void flush() {
+		buffer.force();
+	}
+
+	/** Oldest segment still retained; positions in older segments are gone. */
+	public long oldestSegment() {
+		return oldestSegment;
+	}
+
+	/**
+	 * Reads the record at {@code position}, or returns {@code null} if its
+	 * segment has been removed by retention.
+	 */
+	public byte[] read(Position position) {
+		byte[] record = new byte[position.length()];
+		synchronized (this) {
+			if (position.segment() == segmentIndex) {
+				buffer.get(position.offset(), record);
+				return record;
+			}
+		}
+		if (position.segment() < oldestSegment) {
+			return null;
+		}
+		try (FileChannel segment = FileChannel.open(segmentPath(position.segment()), StandardOpenOption.READ)) {
+			ByteBuffer target = ByteBuffer.wrap(record);
+			while (target.hasRemaining()) {
+				if (segment.read(target, position.offset() + target.position()) < 0) {
+					return null;
+				}
+			}
+			return record;
+		} catch (NoSuchFileException e) {
+			return null; // removed by retention after the check above
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read audit log segment " + position.segment(), e);
+		}
+	}
+
+	/**
+	 * Streams every retained record with its position, oldest first. Each
+	 * segment is read sequentially and only up to its zero-filled tail.
+	 */
+	public void scan(BiConsumer<Position, byte[]> consumer) {
+		try {
+			for (Path segment : segments()) {
+				long index = indexOf(segment);
+				try (InputStream in = new BufferedInputStream(Files.newInputStream(segment))) {
+					ByteArrayOutputStream line = new ByteArrayOutputStream();
+					int offset = 0;
+					int start = 0;
+					int b;
+					while ((b = in.read()) > 0) {
+						if (b == '\n') {
+							if (line.size() > 0) {
+								consumer.accept(new Position(index, start, line.size()), line.toByteArray());
+							}
+							line.reset();
+							start = offset + 1;
+						} else {
+							line.write(b);
+						}
+						offset++;
+					}
+				} catch (NoSuchFileException e) {
+					// removed by retention while we were listing
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read audit log in " + directory, e);
+		}
+	}
+
+	/** Returns every record still retained on disk, oldest first. */
+	public List<String> readAll() {
+		List<String> records = new ArrayList<>();
+		scan((position, record) -> records.add(new String(record, StandardCharsets.UTF_8)));
+		return records;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (channel != null) {
+			buffer.force();
+			channel.close();
+			channel = null;
+		}
+	}
+
+	/**
+	 * Maps {@code segment} for appending after its last complete record.
+	 * Returns {@code false}, leaving nothing open, if the segment is full or
+	 * was written with another segment size.
+	 */
+	private boolean resume(Path segment) throws IOException {
+		if (Files.size(segment) != segmentBytes) {
+			return false;
+		}
+		FileChannel resumed = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		MappedByteBuffer mapped = resumed.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+		int end = 0;
+		int recordsEnd = 0;
+		while (end < segmentBytes && mapped.get(end) != 0) {
+			if (mapped.get(end++) == '\n') {
+				recordsEnd = end;
+			}
+		}
+		if (end == segmentBytes) {
+			resumed.close();
+			return false;
+		}
+		// a record cut short by a crash has no newline; clear it so it cannot merge with the next one
+		for (int i = recordsEnd; i < end; i++) {
+			mapped.put(i, (byte) 0);
+		}
+		mapped.position(recordsEnd);
+		channel = resumed;
+		buffer = mapped;
+		return true;
+	}
+
+	private void rotate() throws IOException {
+		if (channel != null) {
+			buffer.force();
+			channel.close();
+			Files.setLastModifiedTime(segmentPath(segmentIndex), FileTime.fromMillis(System.currentTimeMillis()));
+		}
+		segmentIndex++;
+		channel = FileChannel.open(segmentPath(segmentIndex), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+		enforceRetention();
+	}
+
+	/** Deletes sealed segments older than the retention period; the current one is always kept. */
+	private void enforceRetention() throws IOException {
+		List<Path> existing = segments();
+		long cutoff = System.currentTimeMillis() - retention.toMillis();
+		int expired = 0;
+		while (expired < existing.size() - 1
+				&& Files.getLastModifiedTime(existing.get(expired)).toMillis() < cutoff) {
+			expired++;
+		}
+		oldestSegment = indexOf(existing.get(expired));
+		for (int i = 0; i < expired; i++) {
+			Files.deleteIfExists(existing.get(i));
+		}
+	}
+
+	private Path segmentPath(long index) {
+		return directory.resolve(String.format("audit-%010d.log", index));
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(p -> SEGMENT_NAME.matcher(p.getFileName().toString()).matches())
+					.sorted()
+					.toList();
+		}
+	}
+
+	private static long indexOf(Path segment) {
+		Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+		matcher.matches();
+		return Long.parseLong(matcher.group(1));
+	}
+}
@@ -0,0 +1,11 @@
+package com.example.librarymanagement.audit;
+
+/**
+ * What a producer does when the audit ring buffer is full.
+ */
+public enum OverflowPolicy {
+	/** Discard the new event and count it as dropped; the writer never waits. */
+	DROP,
+	/** Spin, then park, until the consumer frees a slot. */
+	BLOCK
+}
@@ -0,0 +1,37 @@
+package com.example.librarymanagement.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.librarymanagement.audit.AuditRecord;
+import com.example.librarymanagement.audit.AuditService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/books")
+@Tag(name = "Library Audit API", description = "Audit trail of book create, update, delete and checkout operations")
+public class AuditController {
+	private final AuditService auditService;
+
+	public AuditController(AuditService auditService) {
+		this.auditService = auditService;
+	}
+
+	@Operation(summary = "Get audit history of a book", description = "Return recorded mutations of a book, oldest first. Recent events may take a few milliseconds to appear")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Audit history returned") })
+	@GetMapping("/{id}/audit")
+	public ResponseEntity<List<AuditRecord>> getAuditHistory(
+			@Parameter(description = "Book ID", required = true) @PathVariable Long id) {
+		return ResponseEntity.ok(auditService.history(id));
+	}
+}
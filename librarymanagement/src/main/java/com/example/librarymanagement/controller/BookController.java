@@ -1,21 +1,27 @@
 package com.example.librarymanagement.controller;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.librarymanagement.entity.Book;
 import com.example.librarymanagement.exception.BookNotFoundException;
+import com.example.librarymanagement.service.BatchLookupResult;
 import com.example.librarymanagement.service.BookService;
+import com.example.librarymanagement.stats.PopularityService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,9 +35,11 @@ import jakarta.validation.Valid;
 @Tag(name = "Library Management API", description = "Complete CRUD operations for Library Book Management System")
 public class BookController {
 	private final BookService bookService;
+	private final PopularityService popularityService;
 
-	public BookController(BookService bookService) {
+	public BookController(BookService bookService, PopularityService popularityService) {
 		this.bookService = bookService;
+		this.popularityService = popularityService;
 	}
 
 	@Operation(summary = "Create new book", description = "Add a new book to the library catalog")
@@ -52,15 +60,37 @@ public class BookController {
 		return ResponseEntity.ok(books);
 	}
 
+	@Operation(summary = "Get books by IDs", description = "Fetch several books in one request. Books come back in request order; unknown IDs are listed under missing")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Found books and missing IDs returned") })
+	@GetMapping(params = "ids")
+	public ResponseEntity<BatchLookupResult<Long>> getBooksByIds(
+			@Parameter(description = "Comma-separated book IDs", required = true) @RequestParam List<Long> ids) {
+		BatchLookupResult<Long> result = bookService.getBooksByIds(ids);
+		result.books().forEach(book -> popularityService.recordBookRequest(book.getId()));
+		return ResponseEntity.ok(result);
+	}
+
+	@Operation(summary = "Get books by ISBNs", description = "Fetch several books by ISBN in one request. Books come back in request order; unknown ISBNs are listed under missing")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Found books and missing ISBNs returned") })
+	@PostMapping("/by-isbn")
+	public ResponseEntity<BatchLookupResult<String>> getBooksByIsbns(
+			@Parameter(description = "ISBNs to fetch") @RequestBody List<String> isbns) {
+		BatchLookupResult<String> result = bookService.getBooksByIsbns(isbns);
+		result.books().forEach(book -> popularityService.recordBookRequest(book.getId()));
+		return ResponseEntity.ok(result);
+	}
+
 	@Operation(summary = "Get book by ID", description = "Fetch specific book details by its unique ID")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Book found"),
-			@ApiResponse(responseCode = "404", description = "Book not found") })
+			@ApiResponse(responseCode = "404", description = "Book not found"),
+			@ApiResponse(responseCode = "503", description = "Lookup timed out under load") })
 	@GetMapping("/{id}")
 	public ResponseEntity<Book> getBookById(
 			@Parameter(description = "Book ID", required = true) @PathVariable Long id) {
-		return bookService.getBookById(id)
-				.map(ResponseEntity::ok)
+		Book book = bookService.getBookById(id)
 				.orElseThrow(() -> new NoSuchElementException("Book not found with id: " + id));
+		popularityService.recordBookRequest(id);
+		return ResponseEntity.ok(book);
 	}
 
 	@Operation(summary = "Update existing book", description = "Update book details by ID (title, author, ISBN, availability)")
@@ -77,6 +107,17 @@ public class BookController {
 		return ResponseEntity.ok(updatedBook);
 	}
 
+	@Operation(summary = "Partially update book", description = "Apply a JSON Merge Patch; only the given fields are written. Include version to update only if the book is unchanged")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Book updated successfully"),
+			@ApiResponse(responseCode = "404", description = "Book not found"),
+			@ApiResponse(responseCode = "409", description = "Version does not match") })
+	@PatchMapping(value = "/{id}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+	public ResponseEntity<Book> patchBook(
+			@Parameter(description = "Book ID to update", required = true) @PathVariable Long id,
+			@Parameter(description = "Fields to change") @RequestBody Map<String, Object> patch) {
+		return ResponseEntity.ok(bookService.patchBook(id, patch));
+	}
+
 	@Operation(summary = "Delete book", description = "Remove a book from library catalog by ID")
 	@ApiResponses(value = { @ApiResponse(responseCode = "204", description = "Book deleted successfully"),
 			@ApiResponse(responseCode = "404", description = "Book not found") })
@@ -0,0 +1,36 @@
+package com.example.librarymanagement.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.librarymanagement.stats.PopularityService;
+import com.example.librarymanagement.stats.TopStats;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/books/stats")
+@Tag(name = "Library Statistics API", description = "Live popularity statistics computed from streaming sketches")
+public class StatsController {
+	private final PopularityService popularityService;
+
+	public StatsController(PopularityService popularityService) {
+		this.popularityService = popularityService;
+	}
+
+	@Operation(summary = "Get top books and authors", description = "Most requested books and most checked-out authors within a sliding time window. Counts are estimates that never undercount")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Top entries returned") })
+	@GetMapping("/top")
+	public ResponseEntity<TopStats> getTop(
+			@Parameter(description = "Window length, e.g. 30s, 15m, 1h") @RequestParam(defaultValue = "15m") String window,
+			@Parameter(description = "Maximum entries per list") @RequestParam(defaultValue = "10") int limit) {
+		return ResponseEntity.ok(popularityService.top(window, limit));
+	}
+}
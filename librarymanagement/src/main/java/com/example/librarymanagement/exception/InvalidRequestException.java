@@ -0,0 +1,15 @@
+package com.example.librarymanagement.exception;
+
+/**
+ * A request the client can fix: unknown or malformed fields, out-of-range
+ * parameters, conflicting unique values. Mapped to 400 Bad Request.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+	private static final long serialVersionUID = 7730271865302554195L;
+
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+
+}
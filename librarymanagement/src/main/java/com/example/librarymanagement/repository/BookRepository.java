@@ -3,12 +3,41 @@ package com.example.librarymanagement.repository;
 import com.example.librarymanagement.entity.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
 	
 	Optional<Book> findByIsbn(String isbn);
 
 	boolean existsByIsbn(String isbn);
+
+	boolean existsByIsbnAndIdNot(String isbn, Long id);
+
+	List<Book> findByIsbnIn(Collection<String> isbns);
+
+	/** Largest IN list sent in one query; keeps statements cacheable and under driver limits. */
+	int IN_CLAUSE_CHUNK_SIZE = 500;
+
+	default List<Book> findAllByIdChunked(Collection<Long> ids) {
+		List<Long> keys = List.copyOf(ids);
+		List<Book> books = new ArrayList<>(keys.size());
+		for (int from = 0; from < keys.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+			books.addAll(findAllById(keys.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, keys.size()))));
+		}
+		return books;
+	}
+
+	default List<Book> findByIsbnInChunked(Collection<String> isbns) {
+		List<String> keys = List.copyOf(isbns);
+		List<Book> books = new ArrayList<>(keys.size());
+		for (int from = 0; from < keys.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+			books.addAll(findByIsbnIn(keys.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, keys.size()))));
+		}
+		return books;
+	}
 }
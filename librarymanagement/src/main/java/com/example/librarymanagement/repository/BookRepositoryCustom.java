@@ -0,0 +1,30 @@
+package com.example.librarymanagement.repository;
+
+import java.util.Map;
+
+public interface BookRepositoryCustom {
+
+	/**
+	 * Applies {@code changes} (attribute name to new value) to one book with a
+	 * single UPDATE that touches only those columns and bumps the version; a
+	 * NULL version becomes 0. When {@code expectedVersion} is given the row is
+	 * only updated if it still has that version. When {@code available} is
+	 * the only change the row is only updated if the value actually flips, so
+	 * an updated row means a real checkout or return.
+	 *
+	 * @return the number of updated rows, 0 if the book is missing, its
+	 *         version no longer matches or its availability already had the
+	 *         requested value
+	 */
+	int patch(Long id, Map<String, Object> changes, Long expectedVersion);
+
+	/**
+	 * Sets {@code available} without bumping the version, and only if the
+	 * value actually flips. Run after a {@link #patch} of the same book in the
+	 * same transaction, which already bumped the version and holds the row
+	 * lock, it tells whether that patch was also a checkout or return.
+	 *
+	 * @return 1 if the availability flipped, otherwise 0
+	 */
+	int flipAvailability(Long id, boolean available);
+}
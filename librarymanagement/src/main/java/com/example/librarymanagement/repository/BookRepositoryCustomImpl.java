@@ -0,0 +1,57 @@
+package com.example.librarymanagement.repository;
+
+import java.util.Map;
+
+import com.example.librarymanagement.entity.Book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public int patch(Long id, Map<String, Object> changes, Long expectedVersion) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Book> update = cb.createCriteriaUpdate(Book.class);
+		Root<Book> root = update.from(Book.class);
+		changes.forEach(update::set);
+		Path<Long> version = root.get("version");
+		update.set(version, cb.<Long>selectCase().when(cb.isNull(version), 0L).otherwise(cb.sum(version, 1L)));
+
+		Predicate where = cb.equal(root.get("id"), id);
+		if (expectedVersion != null) {
+			where = cb.and(where, cb.equal(version, expectedVersion));
+		}
+		if (changes.size() == 1 && changes.containsKey("available")) {
+			where = cb.and(where, cb.notEqual(root.get("available"), changes.get("available")));
+		}
+		update.where(where);
+		return execute(update);
+	}
+
+	@Override
+	public int flipAvailability(Long id, boolean available) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Book> update = cb.createCriteriaUpdate(Book.class);
+		Root<Book> root = update.from(Book.class);
+		update.set(root.get("available"), available);
+		update.where(cb.equal(root.get("id"), id), cb.notEqual(root.get("available"), available));
+		return execute(update);
+	}
+
+	private int execute(CriteriaUpdate<Book> update) {
+		// bulk updates bypass the persistence context, same as @Modifying(flushAutomatically, clearAutomatically)
+		entityManager.flush();
+		int updated = entityManager.createQuery(update).executeUpdate();
+		entityManager.clear();
+		return updated;
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.librarymanagement.service;
+
+import java.util.List;
+
+import com.example.librarymanagement.entity.Book;
+
+/**
+ * Result of a multi-get: the books found, in request order, and the
+ * requested keys that matched nothing.
+ */
+public record BatchLookupResult<K>(List<Book> books, List<K> missing) {
+}
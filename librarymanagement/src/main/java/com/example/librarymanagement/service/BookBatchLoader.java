@@ -0,0 +1,148 @@
+package com.example.librarymanagement.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import com.example.librarymanagement.entity.Book;
+import com.example.librarymanagement.repository.BookRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Merges single-id lookups that arrive within a short window into one IN
+ * query. The first lookup of a window schedules a flush; a full batch is
+ * flushed at once. Returned books are detached and may be shared by callers
+ * that asked for the same id, so they must be treated as read-only. A caller
+ * waits at most the configured timeout; lookups still queued at shutdown, or
+ * arriving after it, are served on the calling thread.
+ */
+@Component
+public class BookBatchLoader {
+	private record Pending(Long id, CompletableFuture<Optional<Book>> result) {
+	}
+
+	private final BookRepository bookRepository;
+	private final long windowNanos;
+	private final int maxBatchSize;
+	private final long timeoutNanos;
+	private final ScheduledExecutorService executor;
+
+	private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	public BookBatchLoader(BookRepository bookRepository,
+			@Value("${books.batch.window:2ms}") String window,
+			@Value("${books.batch.max-size:256}") int maxBatchSize,
+			@Value("${books.batch.threads:4}") int threads,
+			@Value("${books.batch.timeout:5s}") String timeout) {
+		this.bookRepository = bookRepository;
+		this.windowNanos = DurationStyle.detectAndParse(window).toNanos();
+		this.maxBatchSize = maxBatchSize;
+		this.timeoutNanos = DurationStyle.detectAndParse(timeout).toNanos();
+		AtomicInteger threadCount = new AtomicInteger();
+		ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(threads, task -> {
+			Thread thread = new Thread(task, "book-batch-loader-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		pool.setRemoveOnCancelPolicy(true);
+		// shutdown() drains the queue itself, so pending window timers can be dropped
+		pool.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		this.executor = pool;
+	}
+
+	public Optional<Book> load(Long id) {
+		Pending pending = new Pending(id, new CompletableFuture<>());
+		queue.add(pending);
+		try {
+			if (queued.incrementAndGet() >= maxBatchSize) {
+				executor.execute(this::flush);
+			} else if (flushScheduled.compareAndSet(false, true)) {
+				executor.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+			}
+		} catch (RejectedExecutionException e) {
+			// shut down between enqueueing and scheduling
+		}
+		if (executor.isShutdown()) {
+			drain();
+		}
+
+		try {
+			return pending.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			pending.result().cancel(false);
+			throw new QueryTimeoutException("Lookup of book " + id + " timed out", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			pending.result().cancel(false);
+			throw new IllegalStateException("Interrupted while loading book " + id, e);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+		drain();
+	}
+
+	private void drain() {
+		while (!queue.isEmpty()) {
+			flush();
+		}
+	}
+
+	private void flush() {
+		flushScheduled.set(false);
+		List<Pending> batch = new ArrayList<>();
+		Pending pending;
+		while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+			batch.add(pending);
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+		if (queued.addAndGet(-batch.size()) > 0 && !executor.isShutdown()
+				&& flushScheduled.compareAndSet(false, true)) {
+			// more lookups arrived than fit in this batch
+			executor.execute(this::flush);
+		}
+
+		try {
+			Set<Long> ids = new LinkedHashSet<>();
+			batch.forEach(p -> ids.add(p.id()));
+			Map<Long, Book> found = new HashMap<>();
+			for (Book book : bookRepository.findAllByIdChunked(ids)) {
+				found.put(book.getId(), book);
+			}
+			batch.forEach(p -> p.result().complete(Optional.ofNullable(found.get(p.id()))));
+		} catch (RuntimeException e) {
+			batch.forEach(p -> p.result().completeExceptionally(e));
+		}
+	}
+}
@@ -1,42 +1,79 @@
 package com.example.librarymanagement.service;
 
+import com.example.librarymanagement.audit.AuditAction;
+import com.example.librarymanagement.audit.AuditService;
 import com.example.librarymanagement.entity.Book;
+import com.example.librarymanagement.exception.BookNotFoundException;
+import com.example.librarymanagement.exception.InvalidRequestException;
 import com.example.librarymanagement.repository.BookRepository;
+import com.example.librarymanagement.stats.PopularityService;
 import jakarta.persistence.OptimisticLockException;
 import jakarta.transaction.Transactional;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class BookService {
+	public static final int MAX_BATCH_KEYS = 1000;
+
 	private final BookRepository bookRepository;
+	private final AuditService auditService;
+	private final PopularityService popularityService;
+	private final BookBatchLoader bookBatchLoader;
 
-	public BookService(BookRepository bookRepository) {
+	public BookService(BookRepository bookRepository, AuditService auditService,
+			PopularityService popularityService, BookBatchLoader bookBatchLoader) {
 		this.bookRepository = bookRepository;
+		this.auditService = auditService;
+		this.popularityService = popularityService;
+		this.bookBatchLoader = bookBatchLoader;
 	}
 
 	public Book createBook(Book book) {
 		if (bookRepository.existsByIsbn(book.getIsbn())) {
 			throw new IllegalArgumentException("Book with ISBN " + book.getIsbn() + " already exists");
 		}
-		return bookRepository.save(book);
+		Book saved = bookRepository.save(book);
+		auditService.record(AuditAction.CREATE, saved, null);
+		return saved;
 	}
 
 	public List<Book> getAllBooks() {
 		return bookRepository.findAll();
 	}
 
+	/** Concurrent lookups are merged into one query by {@link BookBatchLoader}. */
+	@Transactional(Transactional.TxType.SUPPORTS)
 	public Optional<Book> getBookById(Long id) {
-		return bookRepository.findById(id);
+		return bookBatchLoader.load(id);
+	}
+
+	public BatchLookupResult<Long> getBooksByIds(List<Long> ids) {
+		return lookup(ids, bookRepository::findAllByIdChunked, Book::getId);
+	}
+
+	public BatchLookupResult<String> getBooksByIsbns(List<String> isbns) {
+		return lookup(isbns, bookRepository::findByIsbnInChunked, Book::getIsbn);
 	}
 
 	public Book updateBook(Long id, Book bookDetails) {
 		Book book = bookRepository.findById(id)
 				.orElseThrow(() -> new IllegalArgumentException("Book not found with id: " + id));
+		Long beforeVersion = book.getVersion();
+		boolean wasAvailable = book.isAvailable();
 		// For optimistic locking, set the version from the incoming details
 		book.setTitle(bookDetails.getTitle());
 		book.setAuthor(bookDetails.getAuthor());
@@ -44,11 +81,99 @@ public class BookService {
 		book.setAvailable(bookDetails.isAvailable());
 		book.setVersion(bookDetails.getVersion()); // Ensure version is set for optimistic locking
 
+		Book saved;
 		try {
-			return bookRepository.save(book);
+			saved = bookRepository.save(book);
 		} catch (OptimisticLockingFailureException | OptimisticLockException e) {
 			throw new OptimisticLockException("Concurrent update detected for book with id: " + id);
 		}
+		AuditAction action = auditActionFor(wasAvailable, saved.isAvailable());
+		auditService.record(action, saved, beforeVersion);
+		if (action == AuditAction.CHECKOUT) {
+			popularityService.recordCheckout(saved.getAuthor());
+		}
+		return saved;
+	}
+
+	/**
+	 * Applies a JSON Merge Patch (RFC 7396) as one UPDATE of the changed
+	 * columns, without loading the book first. A {@code version} member makes
+	 * the update conditional on the stored version; without it, concurrent
+	 * patches of different fields no longer conflict. A patch of only
+	 * {@code available} that matches the stored value writes and audits
+	 * nothing. Combined with other fields, {@code available} is set by a
+	 * second, flip-guarded UPDATE in the same transaction, so a patch that
+	 * also checks a book out or in is audited and counted as such.
+	 */
+	public Book patchBook(Long id, Map<String, Object> patch) {
+		Map<String, Object> changes = new LinkedHashMap<>();
+		Long expectedVersion = null;
+		for (Map.Entry<String, Object> entry : patch.entrySet()) {
+			String field = entry.getKey();
+			Object value = entry.getValue();
+			switch (field) {
+				case "title", "author", "isbn" -> {
+					if (!(value instanceof String text) || text.isBlank()) {
+						throw new InvalidRequestException(field + " must not be blank");
+					}
+					changes.put(field, text);
+				}
+				case "available" -> {
+					if (!(value instanceof Boolean)) {
+						throw new InvalidRequestException("available must be true or false");
+					}
+					changes.put(field, value);
+				}
+				case "version" -> {
+					if (!(value instanceof Number number)) {
+						throw new InvalidRequestException("version must be a number");
+					}
+					expectedVersion = number.longValue();
+				}
+				default -> throw new InvalidRequestException("Field cannot be patched: " + field);
+			}
+		}
+		if (changes.isEmpty()) {
+			Book book = bookRepository.findById(id)
+					.orElseThrow(() -> new BookNotFoundException("Book not found with id: " + id));
+			if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+				throw new OptimisticLockException("Concurrent update detected for book with id: " + id);
+			}
+			return book;
+		}
+		if (changes.get("isbn") instanceof String isbn && bookRepository.existsByIsbnAndIdNot(isbn, id)) {
+			throw new InvalidRequestException("Book with ISBN " + isbn + " already exists");
+		}
+
+		Map<String, Object> fields = new LinkedHashMap<>(changes);
+		Boolean available = (Boolean) fields.remove("available");
+		int updated;
+		boolean flipped;
+		if (fields.isEmpty()) {
+			// the UPDATE is guarded to match only when availability flips
+			updated = bookRepository.patch(id, changes, expectedVersion);
+			flipped = updated == 1;
+		} else {
+			updated = bookRepository.patch(id, fields, expectedVersion);
+			flipped = updated == 1 && available != null && bookRepository.flipAvailability(id, available) == 1;
+		}
+		Book patched = bookRepository.findById(id)
+				.orElseThrow(() -> new BookNotFoundException("Book not found with id: " + id));
+		if (updated == 0) {
+			if (expectedVersion != null && !expectedVersion.equals(patched.getVersion())) {
+				throw new OptimisticLockException("Concurrent update detected for book with id: " + id);
+			}
+			return patched; // availability already had the requested value
+		}
+		AuditAction action = !flipped ? AuditAction.UPDATE
+				: patched.isAvailable() ? AuditAction.RETURN : AuditAction.CHECKOUT;
+		// the UPDATE turns a NULL version into 0 and otherwise increments it
+		Long beforeVersion = patched.getVersion() == 0 ? null : patched.getVersion() - 1;
+		auditService.record(action, patched, beforeVersion);
+		if (action == AuditAction.CHECKOUT) {
+			popularityService.recordCheckout(patched.getAuthor());
+		}
+		return patched;
 	}
 
 	public void deleteBook(Long id) {
@@ -56,5 +181,40 @@ public class BookService {
 			throw new IllegalArgumentException("Book not found with id: " + id);
 		}
 		bookRepository.deleteById(id);
+		auditService.recordDelete(id);
+	}
+
+	private static <K> BatchLookupResult<K> lookup(List<K> keys, Function<Collection<K>, List<Book>> finder,
+			Function<Book, K> keyOf) {
+		Set<K> unique = new LinkedHashSet<>();
+		keys.stream().filter(Objects::nonNull).forEach(unique::add);
+		if (unique.isEmpty()) {
+			throw new InvalidRequestException("At least one key is required");
+		}
+		if (unique.size() > MAX_BATCH_KEYS) {
+			throw new InvalidRequestException("At most " + MAX_BATCH_KEYS + " keys can be fetched at once");
+		}
+		Map<K, Book> found = new HashMap<>();
+		for (Book book : finder.apply(unique)) {
+			found.put(keyOf.apply(book), book);
+		}
+		List<Book> books = new ArrayList<>(found.size());
+		List<K> missing = new ArrayList<>();
+		for (K key : unique) {
+			Book book = found.get(key);
+			if (book != null) {
+				books.add(book);
+			} else {
+				missing.add(key);
+			}
+		}
+		return new BatchLookupResult<>(books, missing);
+	}
+
+	private static AuditAction auditActionFor(boolean wasAvailable, boolean available) {
+		if (wasAvailable == available) {
+			return AuditAction.UPDATE;
+		}
+		return available ? AuditAction.RETURN : AuditAction.CHECKOUT;
 	}
 }
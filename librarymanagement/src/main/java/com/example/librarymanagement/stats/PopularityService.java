@@ -0,0 +1,60 @@
+package com.example.librarymanagement.stats;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+
+import com.example.librarymanagement.exception.InvalidRequestException;
+import com.example.librarymanagement.support.AfterCommit;
+
+/**
+ * Live "most requested books" and "most checked-out authors" counters. Both
+ * are kept in {@link SlidingTopK} sketches so recording is lock-free and
+ * memory does not grow with the catalog.
+ */
+@Service
+public class PopularityService {
+	private final SlidingTopK requestedBooks;
+	private final SlidingTopK checkedOutAuthors;
+
+	public PopularityService(@Value("${stats.bucket-length:1m}") String bucketLength,
+			@Value("${stats.buckets:60}") int buckets,
+			@Value("${stats.sketch-depth:4}") int depth,
+			@Value("${stats.sketch-width:256}") int width,
+			@Value("${stats.candidate-slots:256}") int candidateSlots) {
+		Duration length = DurationStyle.detectAndParse(bucketLength);
+		int shards = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), 4));
+		this.requestedBooks = new SlidingTopK(length, buckets, depth, width, shards, candidateSlots);
+		this.checkedOutAuthors = new SlidingTopK(length, buckets, depth, width, shards, candidateSlots);
+	}
+
+	public void recordBookRequest(Long bookId) {
+		requestedBooks.record(String.valueOf(bookId), System.currentTimeMillis());
+	}
+
+	/** Counted once the surrounding transaction commits, so lost optimistic locks are not counted. */
+	public void recordCheckout(String author) {
+		AfterCommit.run(() -> checkedOutAuthors.record(author, System.currentTimeMillis()));
+	}
+
+	public TopStats top(String window, int limit) {
+		Duration duration;
+		try {
+			duration = DurationStyle.detectAndParse(window);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Invalid window: " + window);
+		}
+		Duration maxWindow = requestedBooks.maxWindow();
+		if (duration.isNegative() || duration.isZero() || duration.compareTo(maxWindow) > 0) {
+			throw new InvalidRequestException("Window must be between 0 and " + maxWindow + ", got: " + window);
+		}
+		if (limit <= 0) {
+			throw new InvalidRequestException("Limit must be positive, got: " + limit);
+		}
+		long now = System.currentTimeMillis();
+		return new TopStats(window, requestedBooks.top(duration, limit, now),
+				checkedOutAuthors.top(duration, limit, now));
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.librarymanagement.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch whose counters are striped over several shards. A thread
+ * always increments the shard picked by its id, so concurrent writers rarely
+ * touch the same cache line and never take a lock; estimates sum the shards.
+ * Estimates never undercount and overcount by at most {@code e * N / width}
+ * with probability {@code 1 - e^-depth}.
+ */
+public class ShardedCountMinSketch {
+	private final int depth;
+	private final int widthMask;
+	private final AtomicLongArray[] shards;
+
+	public ShardedCountMinSketch(int depth, int width, int shardCount) {
+		if (depth <= 0 || width < 2 || Integer.bitCount(width) != 1) {
+			throw new IllegalArgumentException("Sketch width must be a power of two and depth positive");
+		}
+		if (shardCount <= 0 || Integer.bitCount(shardCount) != 1) {
+			throw new IllegalArgumentException("Shard count must be a power of two, got: " + shardCount);
+		}
+		this.depth = depth;
+		this.widthMask = width - 1;
+		this.shards = new AtomicLongArray[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards[i] = new AtomicLongArray(depth * width);
+		}
+	}
+
+	public void add(String key, long count) {
+		AtomicLongArray shard = shards[(int) Thread.currentThread().getId() & (shards.length - 1)];
+		long hash = hash(key);
+		for (int row = 0; row < depth; row++) {
+			shard.getAndAdd(index(row, hash), count);
+		}
+	}
+
+	public long estimate(String key) {
+		long hash = hash(key);
+		long min = Long.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			int index = index(row, hash);
+			long sum = 0;
+			for (AtomicLongArray shard : shards) {
+				sum += shard.get(index);
+			}
+			min = Math.min(min, sum);
+		}
+		return min;
+	}
+
+	private int index(int row, long hash) {
+		return row * (widthMask + 1) + ((int) mix(hash + row * 0x9E3779B97F4A7C15L) & widthMask);
+	}
+
+	static long hash(String key) {
+		return mix(key.hashCode());
+	}
+
+	private static long mix(long h) {
+		// murmur3 fmix64
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
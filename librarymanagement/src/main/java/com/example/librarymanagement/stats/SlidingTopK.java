@@ -0,0 +1,103 @@
+package com.example.librarymanagement.stats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sliding-window heavy hitters built from a ring of time buckets, each holding
+ * its own {@link TopKSketch}. A bucket is replaced by a fresh sketch the first
+ * time it is written in a new period; queries merge the buckets that fall in
+ * the requested window. Memory is fixed by the bucket count and sketch size.
+ */
+public class SlidingTopK {
+	private record Bucket(long epoch, TopKSketch sketch) {
+	}
+
+	private final long bucketMillis;
+	private final AtomicReferenceArray<Bucket> buckets;
+	private final int depth;
+	private final int width;
+	private final int shardCount;
+	private final int candidateSlots;
+
+	public SlidingTopK(Duration bucketLength, int bucketCount, int depth, int width, int shardCount,
+			int candidateSlots) {
+		if (bucketLength.toMillis() <= 0 || bucketCount <= 0) {
+			throw new IllegalArgumentException("Bucket length and bucket count must be positive");
+		}
+		this.bucketMillis = bucketLength.toMillis();
+		this.buckets = new AtomicReferenceArray<>(bucketCount);
+		this.depth = depth;
+		this.width = width;
+		this.shardCount = shardCount;
+		this.candidateSlots = candidateSlots;
+	}
+
+	public void record(String key, long nowMillis) {
+		bucketFor(nowMillis / bucketMillis).sketch().add(key);
+	}
+
+	public Duration maxWindow() {
+		return Duration.ofMillis(bucketMillis * buckets.length());
+	}
+
+	/**
+	 * Returns up to {@code limit} keys with the highest estimated counts in the
+	 * window ending at {@code nowMillis}. The window is rounded up to whole
+	 * buckets.
+	 */
+	public List<TopEntry> top(Duration window, int limit, long nowMillis) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Limit must be positive, got: " + limit);
+		}
+		if (window.isNegative() || window.isZero() || window.compareTo(maxWindow()) > 0) {
+			throw new IllegalArgumentException("Window must be between 0 and " + maxWindow() + ", got: " + window);
+		}
+		long current = nowMillis / bucketMillis;
+		long span = (window.toMillis() + bucketMillis - 1) / bucketMillis;
+		List<TopKSketch> live = new ArrayList<>();
+		for (long epoch = current - span + 1; epoch <= current; epoch++) {
+			Bucket bucket = buckets.get(slot(epoch));
+			if (bucket != null && bucket.epoch() == epoch) {
+				live.add(bucket.sketch());
+			}
+		}
+
+		Set<String> keys = new HashSet<>();
+		for (TopKSketch sketch : live) {
+			keys.addAll(sketch.candidates());
+		}
+		List<TopEntry> entries = new ArrayList<>(keys.size());
+		for (String key : keys) {
+			long count = 0;
+			for (TopKSketch sketch : live) {
+				count += sketch.estimate(key);
+			}
+			entries.add(new TopEntry(key, count));
+		}
+		entries.sort(Comparator.comparingLong(TopEntry::count).reversed().thenComparing(TopEntry::key));
+		return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+	}
+
+	private Bucket bucketFor(long epoch) {
+		int slot = slot(epoch);
+		Bucket bucket = buckets.get(slot);
+		while (bucket == null || bucket.epoch() < epoch) {
+			Bucket fresh = new Bucket(epoch, new TopKSketch(depth, width, shardCount, candidateSlots));
+			if (buckets.compareAndSet(slot, bucket, fresh)) {
+				return fresh;
+			}
+			bucket = buckets.get(slot);
+		}
+		return bucket;
+	}
+
+	private int slot(long epoch) {
+		return (int) Math.floorMod(epoch, (long) buckets.length());
+	}
+}
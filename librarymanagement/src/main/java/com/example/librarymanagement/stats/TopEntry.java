@@ -0,0 +1,4 @@
+package com.example.librarymanagement.stats;
+
+public record TopEntry(String key, long count) {
+}
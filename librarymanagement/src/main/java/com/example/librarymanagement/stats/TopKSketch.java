@@ -0,0 +1,70 @@
+package com.example.librarymanagement.stats;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Heavy-hitter summary over a {@link ShardedCountMinSketch}. Besides counting,
+ * every key competes for one of two slots in a fixed candidate table and
+ * evicts the weaker occupant, so keys with large counts stay resident while
+ * memory stays bounded by the table size.
+ */
+public class TopKSketch {
+	private final ShardedCountMinSketch counts;
+	private final AtomicReferenceArray<String> candidates;
+	private final int candidateMask;
+
+	public TopKSketch(int depth, int width, int shardCount, int candidateSlots) {
+		if (candidateSlots < 2 || Integer.bitCount(candidateSlots) != 1) {
+			throw new IllegalArgumentException("Candidate slots must be a power of two, got: " + candidateSlots);
+		}
+		this.counts = new ShardedCountMinSketch(depth, width, shardCount);
+		this.candidates = new AtomicReferenceArray<>(candidateSlots);
+		this.candidateMask = candidateSlots - 1;
+	}
+
+	public void add(String key) {
+		counts.add(key, 1);
+		int first = (int) ShardedCountMinSketch.hash(key) & candidateMask;
+		int second = first ^ 1;
+		String a = candidates.get(first);
+		String b = candidates.get(second);
+		if (key.equals(a) || key.equals(b)) {
+			return;
+		}
+		if (a == null) {
+			candidates.compareAndSet(first, null, key);
+			return;
+		}
+		if (b == null) {
+			candidates.compareAndSet(second, null, key);
+			return;
+		}
+		long estimate = counts.estimate(key);
+		long countA = counts.estimate(a);
+		long countB = counts.estimate(b);
+		if (countA <= countB) {
+			if (estimate > countA) {
+				candidates.compareAndSet(first, a, key);
+			}
+		} else if (estimate > countB) {
+			candidates.compareAndSet(second, b, key);
+		}
+	}
+
+	public long estimate(String key) {
+		return counts.estimate(key);
+	}
+
+	public Set<String> candidates() {
+		Set<String> keys = new HashSet<>();
+		for (int i = 0; i < candidates.length(); i++) {
+			String key = candidates.get(i);
+			if (key != null) {
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+}
@@ -0,0 +1,6 @@
+package com.example.librarymanagement.stats;
+
+import java.util.List;
+
+public record TopStats(String window, List<TopEntry> books, List<TopEntry> authors) {
+}
@@ -0,0 +1,28 @@
+package com.example.librarymanagement.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects such as audit events and statistics until the current
+ * transaction has committed, so rolled-back changes leave no trace.
+ */
+public final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	/** Runs {@code action} after commit, or immediately when no transaction is active. */
+	public static void run(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
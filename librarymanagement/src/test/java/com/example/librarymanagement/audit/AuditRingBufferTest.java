@@ -0,0 +1,134 @@
+package com.example.librarymanagement.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AuditRingBufferTest {
+
+	@Test
+	void rejectsCapacityThatIsNotPowerOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(1000, OverflowPolicy.DROP));
+	}
+
+	@Test
+	void drainsEventsInPublishOrder() {
+		AuditRingBuffer buffer = new AuditRingBuffer(8, OverflowPolicy.DROP);
+		for (long id = 1; id <= 5; id++) {
+			assertTrue(buffer.publish(AuditAction.UPDATE, id, "tester", id, id + 1, 0L));
+		}
+
+		List<Long> ids = new ArrayList<>();
+		int drained = buffer.drain(event -> ids.add(event.getBookId()), 3);
+
+		assertEquals(3, drained);
+		assertEquals(List.of(1L, 2L, 3L), ids);
+		assertEquals(2, buffer.size());
+	}
+
+	@Test
+	void dropPolicyDiscardsEventsWhenFull() {
+		AuditRingBuffer buffer = new AuditRingBuffer(4, OverflowPolicy.DROP);
+		for (long id = 1; id <= 4; id++) {
+			assertTrue(buffer.publish(AuditAction.CREATE, id, "tester", null, 0L, 0L));
+		}
+
+		assertFalse(buffer.publish(AuditAction.CREATE, 5L, "tester", null, 0L, 0L));
+		assertEquals(1, buffer.droppedCount());
+
+		buffer.drain(event -> { }, 1);
+		assertTrue(buffer.publish(AuditAction.CREATE, 6L, "tester", null, 0L, 0L));
+	}
+
+	@Test
+	void blockPolicyWaitsForConsumer() throws Exception {
+		AuditRingBuffer buffer = new AuditRingBuffer(2, OverflowPolicy.BLOCK);
+		buffer.publish(AuditAction.CREATE, 1L, "tester", null, 0L, 0L);
+		buffer.publish(AuditAction.CREATE, 2L, "tester", null, 0L, 0L);
+
+		CountDownLatch published = new CountDownLatch(1);
+		Thread producer = new Thread(() -> {
+			buffer.publish(AuditAction.CREATE, 3L, "tester", null, 0L, 0L);
+			published.countDown();
+		});
+		producer.start();
+		Thread.sleep(50);
+		assertEquals(1, published.getCount());
+
+		buffer.drain(event -> { }, 1);
+		producer.join(1000);
+		assertEquals(0, published.getCount());
+		assertEquals(0, buffer.droppedCount());
+	}
+
+	@Test
+	void concurrentProducersLoseNothing() throws Exception {
+		AuditRingBuffer buffer = new AuditRingBuffer(1024, OverflowPolicy.BLOCK);
+		int producers = 4;
+		int perProducer = 20_000;
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			long base = (long) p * perProducer;
+			threads[p] = new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					buffer.publish(AuditAction.UPDATE, base + i, "tester", null, null, 0L);
+				}
+			});
+			threads[p].start();
+		}
+
+		boolean[] seen = new boolean[producers * perProducer];
+		int total = 0;
+		while (total < seen.length) {
+			total += buffer.drain(event -> seen[event.getBookId().intValue()] = true, 256);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		for (boolean s : seen) {
+			assertTrue(s);
+		}
+		assertEquals(0, buffer.size());
+	}
+
+	@Test
+	@DisplayName("a single publish stays well below a millisecond at p99 while a consumer drains")
+	void publishLatencyStaysLow() throws Exception {
+		AuditRingBuffer buffer = new AuditRingBuffer(8192, OverflowPolicy.DROP);
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread consumer = new Thread(() -> {
+			while (running.get()) {
+				if (buffer.drain(event -> { }, 512) == 0) {
+					Thread.onSpinWait();
+				}
+			}
+		});
+		consumer.start();
+
+		int warmup = 20_000;
+		int samples = 50_000;
+		long[] latencies = new long[samples];
+		for (int i = 0; i < warmup + samples; i++) {
+			long start = System.nanoTime();
+			buffer.publish(AuditAction.UPDATE, (long) i, "tester", 1L, 2L, 0L);
+			long elapsed = System.nanoTime() - start;
+			if (i >= warmup) {
+				latencies[i - warmup] = elapsed;
+			}
+		}
+		running.set(false);
+		consumer.join();
+
+		Arrays.sort(latencies);
+		long p99 = latencies[(int) (samples * 0.99)];
+		assertTrue(p99 < 1_000_000L, "publish p99 was " + p99 + "ns");
+	}
+}
@@ -0,0 +1,144 @@
+package com.example.librarymanagement.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.librarymanagement.audit.MappedSegmentLog.Position;
+
+class MappedSegmentLogTest {
+	private static final Duration RETENTION = Duration.ofDays(1);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void appendedRecordsAreReadBackInOrder() throws Exception {
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 1024, RETENTION)) {
+			log.append(bytes("first"));
+			log.append(bytes("second"));
+			log.flush();
+
+			assertEquals(List.of("first", "second"), log.readAll());
+		}
+	}
+
+	@Test
+	void rotatesWhenSegmentIsFullAndKeepsSegmentsWithinRetention() throws Exception {
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 16, RETENTION)) {
+			for (int i = 0; i < 6; i++) {
+				log.append(bytes("record-" + i));
+			}
+
+			assertEquals(6, segmentCount());
+			assertEquals(List.of("record-0", "record-1", "record-2", "record-3", "record-4", "record-5"),
+					log.readAll());
+		}
+	}
+
+	@Test
+	void reopeningResumesNewestSegmentWithoutLosingRecords() throws Exception {
+		for (int restart = 0; restart < 20; restart++) {
+			try (MappedSegmentLog log = new MappedSegmentLog(directory, 1024, RETENTION)) {
+				log.append(bytes("run-" + restart));
+			}
+		}
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 1024, RETENTION)) {
+			assertEquals(1, segmentCount());
+			assertEquals(20, log.readAll().size());
+			assertEquals("run-19", log.readAll().get(19));
+		}
+	}
+
+	@Test
+	void reopeningFullSegmentStartsNewOne() throws Exception {
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 16, RETENTION)) {
+			log.append(bytes("exactly-full-16"));
+		}
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 16, RETENTION)) {
+			log.append(bytes("after"));
+
+			assertEquals(2, segmentCount());
+			assertEquals(List.of("exactly-full-16", "after"), log.readAll());
+		}
+	}
+
+	@Test
+	void recordCutShortByCrashIsDiscardedOnReopen() throws Exception {
+		byte[] segment = new byte[64];
+		byte[] written = bytes("complete\npartial");
+		System.arraycopy(written, 0, segment, 0, written.length);
+		Files.write(directory.resolve("audit-0000000001.log"), segment);
+
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 64, RETENTION)) {
+			log.append(bytes("next"));
+
+			assertEquals(List.of("complete", "next"), log.readAll());
+		}
+	}
+
+	@Test
+	void recordsAreReadBackByPositionUntilRetentionRemovesThem() throws Exception {
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 16, RETENTION)) {
+			Position first = log.append(bytes("record-0"));
+			Position second = log.append(bytes("record-1"));
+
+			assertEquals("record-0", new String(log.read(first), StandardCharsets.UTF_8));
+			assertEquals("record-1", new String(log.read(second), StandardCharsets.UTF_8));
+
+			// age the first sealed segment past retention; the next rotation deletes it
+			Files.setLastModifiedTime(directory.resolve("audit-0000000001.log"),
+					FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+			log.append(bytes("record-2"));
+
+			assertNull(log.read(first));
+			assertEquals(2, log.oldestSegment());
+			assertEquals("record-1", new String(log.read(second), StandardCharsets.UTF_8));
+			assertEquals(List.of("record-1", "record-2"), log.readAll());
+		}
+	}
+
+	@Test
+	void scanReportsPositionsOfRetainedRecords() throws Exception {
+		List<Position> appended = new ArrayList<>();
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 1024, RETENTION)) {
+			appended.add(log.append(bytes("first")));
+			appended.add(log.append(bytes("second")));
+		}
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 1024, RETENTION)) {
+			List<Position> scanned = new ArrayList<>();
+			log.scan((position, record) -> scanned.add(position));
+
+			assertEquals(appended, scanned);
+			assertEquals("second", new String(log.read(scanned.get(1)), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void rejectsRecordLargerThanSegment() throws Exception {
+		try (MappedSegmentLog log = new MappedSegmentLog(directory, 8, RETENTION)) {
+			assertThrows(IllegalArgumentException.class, () -> log.append(bytes("far too long")));
+		}
+	}
+
+	private long segmentCount() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.librarymanagement.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.librarymanagement.entity.Book;
+import com.example.librarymanagement.repository.BookRepository;
+import com.example.librarymanagement.service.BookService;
+
+/**
+ * Exercises the controllers against the real service and database, so error
+ * mapping of service-level validation is covered end to end.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	private Book testBook;
+
+	@BeforeEach
+	void setup() {
+		bookRepository.deleteAll();
+		testBook = new Book();
+		testBook.setTitle("Sample Book");
+		testBook.setAuthor("Author A");
+		testBook.setIsbn("ISBN-1234567890");
+		testBook = bookRepository.save(testBook);
+	}
+
+	@Test
+	@DisplayName("PATCH /api/books/{id} - Unknown Field")
+	void patchBook_UnknownField_BadRequest() throws Exception {
+		mockMvc.perform(patch("/api/books/{id}", testBook.getId()).contentType("application/merge-patch+json")
+				.content("{\"id\": 5}")).andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Bad Request"))
+				.andExpect(jsonPath("$.message").value("Field cannot be patched: id"));
+	}
+
+	@Test
+	@DisplayName("PATCH /api/books/{id} - Null Title")
+	void patchBook_NullTitle_BadRequest() throws Exception {
+		mockMvc.perform(patch("/api/books/{id}", testBook.getId()).contentType("application/merge-patch+json")
+				.content("{\"title\": null}")).andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("title must not be blank"));
+	}
+
+	@Test
+	@DisplayName("GET /api/books/stats/top - Invalid Window Or Limit")
+	void topStats_InvalidParameters_BadRequest() throws Exception {
+		mockMvc.perform(get("/api/books/stats/top").param("window", "soon")).andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Bad Request"));
+		mockMvc.perform(get("/api/books/stats/top").param("window", "2h")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/books/stats/top").param("limit", "0")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("GET /api/books/{id} - Only Found Books Count As Requested")
+	void getBookById_OnlyFoundBooksAreCounted() throws Exception {
+		mockMvc.perform(get("/api/books/{id}", 987654L)).andExpect(status().is5xxServerError());
+		mockMvc.perform(get("/api/books/{id}", testBook.getId())).andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/books/stats/top").param("window", "1m").param("limit", "1000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.books[?(@.key == '987654')]").isEmpty())
+				.andExpect(jsonPath("$.books[?(@.key == '" + testBook.getId() + "')]").isNotEmpty());
+	}
+
+	@Test
+	@DisplayName("POST /api/books/by-isbn - Request Order And Missing ISBNs")
+	void getBooksByIsbns_KeepsRequestOrder() throws Exception {
+		Book other = new Book();
+		other.setTitle("Other Book");
+		other.setAuthor("Author B");
+		other.setIsbn("ISBN-0987654321");
+		bookRepository.save(other);
+
+		mockMvc.perform(post("/api/books/by-isbn").contentType(MediaType.APPLICATION_JSON)
+				.content("[\"ISBN-0987654321\", \"ISBN-UNKNOWN\", \"ISBN-1234567890\"]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.books.length()").value(2))
+				.andExpect(jsonPath("$.books[0].isbn").value("ISBN-0987654321"))
+				.andExpect(jsonPath("$.books[1].isbn").value("ISBN-1234567890"))
+				.andExpect(jsonPath("$.missing.length()").value(1))
+				.andExpect(jsonPath("$.missing[0]").value("ISBN-UNKNOWN"));
+	}
+
+	@Test
+	@DisplayName("GET /api/books?ids= - Malformed, Empty Or Too Many IDs")
+	void getBooksByIds_InvalidIds_BadRequest() throws Exception {
+		String tooMany = LongStream.rangeClosed(1, BookService.MAX_BATCH_KEYS + 1).mapToObj(Long::toString)
+				.collect(Collectors.joining(","));
+
+		mockMvc.perform(get("/api/books").param("ids", "abc")).andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Bad Request"));
+		mockMvc.perform(get("/api/books").param("ids", "")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/books").param("ids", tooMany)).andExpect(status().isBadRequest());
+	}
+}
@@ -11,6 +11,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -18,6 +19,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -27,16 +29,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.example.librarymanagement.entity.Book;
 import com.example.librarymanagement.exception.BookNotFoundException;
 import com.example.librarymanagement.repository.BookRepository;
+import com.example.librarymanagement.service.BatchLookupResult;
 import com.example.librarymanagement.service.BookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.persistence.OptimisticLockException;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
@@ -124,6 +131,23 @@ class BookControllerTest {
 				.andExpect(jsonPath("$[0].available").value(true));
 	}
 
+	@Test
+	@DisplayName("GET /api/books?ids= - Multi-get")
+	void getBooksByIds_Success() throws Exception {
+		Book book = new Book();
+		book.setId(2L);
+		book.setTitle("Sample Book");
+		book.setAuthor("Author");
+		book.setIsbn("ISBN-123");
+
+		when(bookService.getBooksByIds(List.of(2L, 5L)))
+				.thenReturn(new BatchLookupResult<>(List.of(book), List.of(5L)));
+
+		mockMvc.perform(get("/api/books").param("ids", "2,5")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.books", hasSize(1))).andExpect(jsonPath("$.books[0].id").value(2L))
+				.andExpect(jsonPath("$.missing[0]").value(5L));
+	}
+
 	@Test
 	@DisplayName("GET /api/books/{id} - Found")
 	void getBookById_Found() throws Exception {
@@ -143,6 +167,15 @@ class BookControllerTest {
 				.andExpect(jsonPath("$.title").value("Sample Book"));
 	}
 
+	@Test
+	@DisplayName("GET /api/books/{id} - Lookup Timed Out")
+	void getBookById_Timeout() throws Exception {
+		when(bookService.getBookById(1L)).thenThrow(new QueryTimeoutException("Lookup of book 1 timed out"));
+
+		mockMvc.perform(get("/api/books/{id}", 1L)).andExpect(status().isServiceUnavailable())
+				.andExpect(jsonPath("$.error").value("Service Unavailable"));
+	}
+
 	@Test
 	@DisplayName("GET /api/books/{id} - Not Found")
 	void getBookById_NotFound() throws Exception {
@@ -189,6 +222,51 @@ class BookControllerTest {
 				.andExpect(jsonPath("$.error").value("Resource Not Found"));
 	}
 
+	@Test
+	@DisplayName("PATCH /api/books/{id} - Success")
+	void patchBook_Success() throws Exception {
+		Book response = new Book();
+		response.setId(1L);
+		response.setTitle("Sample Book");
+		response.setAuthor("Author A");
+		response.setIsbn("ISBN-1234567890");
+		response.setAvailable(false);
+
+		when(bookService.patchBook(1L, Map.of("available", false))).thenReturn(response);
+
+		mockMvc.perform(patch("/api/books/{id}", 1L).contentType("application/merge-patch+json")
+				.content("{\"available\": false}")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.available").value(false)).andExpect(jsonPath("$.title").value("Sample Book"));
+	}
+
+	@Test
+	@DisplayName("PATCH /api/books/{id} - Version Conflict")
+	void patchBook_Conflict() throws Exception {
+		when(bookService.patchBook(eq(1L), any()))
+				.thenThrow(new OptimisticLockException("Concurrent update detected for book with id: 1"));
+
+		mockMvc.perform(patch("/api/books/{id}", 1L).contentType("application/merge-patch+json")
+				.content("{\"title\": \"New\", \"version\": 3}")).andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value("Conflict"));
+	}
+
+	@Test
+	@DisplayName("PUT /api/books/{id} - Version Conflict At Commit")
+	void updateBook_Conflict() throws Exception {
+		Book updated = new Book();
+		updated.setTitle("Updated Title");
+		updated.setAuthor("Updated Author");
+		updated.setIsbn("ISBN-1234567890");
+		updated.setVersion(0L);
+
+		when(bookService.updateBook(eq(1L), any(Book.class)))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Book.class, 1L));
+
+		mockMvc.perform(put("/api/books/{id}", 1L).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(updated))).andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value("Conflict"));
+	}
+
 	@Test
 	void deleteBook_Success() throws Exception {
 		Long id = 1L;
@@ -0,0 +1,127 @@
+package com.example.librarymanagement.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.librarymanagement.LibrarymanagementApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures what auditing adds to write latency. Two copies of the application
+ * run side by side, one started with {@code audit.enabled=false} and one with
+ * {@code audit.enabled=true}, each on its own database. Both are warmed up
+ * until stable, then measured in alternating order over several rounds, and
+ * the median p99s are compared so neither warm-up nor run order decides the
+ * outcome. Run with {@code mvn -Ploadtest test}.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuditOverheadLoadTest {
+	private static final Logger log = LoggerFactory.getLogger(AuditOverheadLoadTest.class);
+
+	private final List<ServletWebServerApplicationContext> contexts = new ArrayList<>();
+	private Environment env;
+	private OpenModelRunner runner;
+	private Target withoutAudit;
+	private Target withAudit;
+
+	private record Target(String name, OpenModelRunner.LoadOperation writes) {
+	}
+
+	@BeforeAll
+	void startApplications() {
+		withoutAudit = start("audit-off", false);
+		withAudit = start("audit-on", true);
+		runner = new OpenModelRunner(env.getRequiredProperty("loadtest.workers", Integer.class),
+				env.getRequiredProperty("loadtest.seed", Long.class));
+	}
+
+	@AfterAll
+	void stopApplications() {
+		contexts.forEach(ServletWebServerApplicationContext::close);
+	}
+
+	@Test
+	void auditingDoesNotRaiseWriteP99() throws Exception {
+		WorkloadSpec spec = WorkloadSpec.from(env, "audit-overhead");
+		int rounds = env.getRequiredProperty("loadtest.audit-overhead.rounds", Integer.class);
+		double maxIncrease = env.getRequiredProperty("loadtest.audit-overhead.max-p99-increase-millis", Double.class);
+		Duration warmupRound = env.getRequiredProperty("loadtest.warmup.round", Duration.class);
+		int warmupRounds = env.getRequiredProperty("loadtest.warmup.max-rounds", Integer.class);
+		for (Target target : List.of(withoutAudit, withAudit)) {
+			List<LoadResult> warmup = runner.warmUp(named(spec, target.name()), target.writes(), warmupRound,
+					warmupRounds);
+			warmup.forEach(result -> log.info(result.summary()));
+		}
+
+		List<LoadResult> off = new ArrayList<>();
+		List<LoadResult> on = new ArrayList<>();
+		for (int round = 0; round < rounds; round++) {
+			boolean auditFirst = round % 2 == 1;
+			for (Target target : auditFirst ? List.of(withAudit, withoutAudit) : List.of(withoutAudit, withAudit)) {
+				LoadResult result = runner.run(named(spec, target.name()), target.writes());
+				log.info(result.summary());
+				(target == withAudit ? on : off).add(result);
+			}
+		}
+
+		double offP99 = medianP99(off);
+		double onP99 = medianP99(on);
+		double increase = onP99 - offP99;
+		log.info(String.format("median write p99 over %d rounds: audit off %.2f ms, audit on %.2f ms, overhead %.2f ms",
+				rounds, offP99, onP99, increase));
+		List<LoadResult> all = new ArrayList<>(off);
+		all.addAll(on);
+		for (LoadResult result : all) {
+			assertTrue(result.errorRate() <= spec.maxErrorRate() && result.throughput() >= spec.minThroughput(),
+					result.summary() + " violates SLO: " + result.sloViolations());
+		}
+		assertTrue(onP99 <= spec.p99Millis(),
+				String.format("median audited write p99 %.2f ms > %.2f ms", onP99, spec.p99Millis()));
+		assertTrue(increase <= maxIncrease,
+				String.format("auditing raised median write p99 by %.2f ms (budget %.2f ms)", increase, maxIncrease));
+	}
+
+	private Target start(String name, boolean audit) {
+		ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+				LibrarymanagementApplication.class)
+				.profiles("loadtest")
+				// arguments, unlike builder properties, override application.properties
+				.run("--server.port=0", "--audit.enabled=" + audit,
+						"--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		contexts.add(context);
+		env = context.getEnvironment();
+
+		CatalogSeeder seeder = new CatalogSeeder(context.getBean(JdbcTemplate.class));
+		seeder.seed(env.getRequiredProperty("loadtest.catalog-size", Integer.class));
+		List<Long> ids = seeder.seededIds();
+		BookApiClient client = new BookApiClient(context.getWebServer().getPort(), context.getBean(ObjectMapper.class));
+		return new Target(name, draw -> client.write(draw, ids));
+	}
+
+	private static WorkloadSpec named(WorkloadSpec spec, String name) {
+		return new WorkloadSpec(name, spec.ratePerSecond(), spec.duration(), spec.p99Millis(), spec.minThroughput(),
+				spec.maxErrorRate());
+	}
+
+	private static double medianP99(List<LoadResult> results) {
+		double[] p99s = results.stream().mapToDouble(LoadResult::p99Millis).sorted().toArray();
+		int middle = p99s.length / 2;
+		return p99s.length % 2 == 1 ? p99s[middle] : (p99s[middle - 1] + p99s[middle]) / 2;
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.librarymanagement.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.librarymanagement.entity.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Book API requests against one running application. Every call returns the
+ * HTTP status so {@link OpenModelRunner} can tell conflicts from errors.
+ */
+class BookApiClient {
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final AtomicLong createdBooks = new AtomicLong();
+	private final ObjectMapper objectMapper;
+	private final String baseUri;
+
+	BookApiClient(int port, ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		this.baseUri = "http://localhost:" + port;
+	}
+
+	int get(String path) throws Exception {
+		return send(HttpRequest.newBuilder(uri(path)).GET().build());
+	}
+
+	int createBook() throws Exception {
+		long n = createdBooks.incrementAndGet();
+		Book book = new Book();
+		book.setTitle("Created Book " + n);
+		book.setAuthor("Author " + (n % 500));
+		book.setIsbn("LW-" + n);
+		return send(json("POST", "/api/books", book));
+	}
+
+	/** Read-modify-write through PUT with the version just read; may conflict (409). */
+	int toggleAvailability(Long id) throws Exception {
+		HttpResponse<String> current = client.send(HttpRequest.newBuilder(uri("/api/books/" + id)).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+		if (current.statusCode() != 200) {
+			return current.statusCode();
+		}
+		Book book = objectMapper.readValue(current.body(), Book.class);
+		book.setAvailable(!book.isAvailable());
+		return send(json("PUT", "/api/books/" + id, book));
+	}
+
+	/** The write-heavy mix: half creates, half availability toggles of a random book from {@code ids}. */
+	int write(long draw, List<Long> ids) throws Exception {
+		SplittableRandom random = new SplittableRandom(draw);
+		if (random.nextBoolean()) {
+			return createBook();
+		}
+		return toggleAvailability(ids.get(random.nextInt(ids.size())));
+	}
+
+	int mergePatch(String path, Object body) throws Exception {
+		return send(HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/merge-patch+json")
+				.method("PATCH", HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build());
+	}
+
+	private HttpRequest json(String method, String path, Object body) throws Exception {
+		return HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build();
+	}
+
+	private int send(HttpRequest request) throws Exception {
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private URI uri(String path) {
+		return URI.create(baseUri + path);
+	}
+}
@@ -0,0 +1,129 @@
+package com.example.librarymanagement.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * SLO-gated load tests against the running application. Excluded from the
+ * default build; run with {@code mvn -Ploadtest test}. Rates, durations,
+ * catalog size and objectives live in {@code application-loadtest.properties}
+ * and can be overridden with system properties. One warm-up over a mix of all
+ * workloads runs before any of them is measured, and the workloads run in a
+ * fixed order, so none of them absorbs JIT compilation for the others.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookApiLoadTest {
+	private static final Logger log = LoggerFactory.getLogger(BookApiLoadTest.class);
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private Environment env;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private BookApiClient client;
+	private OpenModelRunner runner;
+	private List<Long> ids;
+
+	@BeforeAll
+	void seedAndWarmUp() throws Exception {
+		CatalogSeeder seeder = new CatalogSeeder(jdbcTemplate);
+		seeder.seed(env.getRequiredProperty("loadtest.catalog-size", Integer.class));
+		ids = seeder.seededIds();
+		client = new BookApiClient(port, objectMapper);
+		runner = new OpenModelRunner(env.getRequiredProperty("loadtest.workers", Integer.class),
+				env.getRequiredProperty("loadtest.seed", Long.class));
+
+		List<OpenModelRunner.LoadOperation> workloads = List.of(reads(), writes(), hotKeyPatches());
+		WorkloadSpec mixed = new WorkloadSpec("mixed", env.getRequiredProperty("loadtest.warmup.rate", Integer.class),
+				Duration.ZERO, Double.MAX_VALUE, 0, 1);
+		List<LoadResult> warmup = runner.warmUp(mixed,
+				draw -> workloads.get(Math.floorMod(draw, workloads.size())).call(draw),
+				env.getRequiredProperty("loadtest.warmup.round", Duration.class),
+				env.getRequiredProperty("loadtest.warmup.max-rounds", Integer.class));
+		warmup.forEach(result -> log.info(result.summary()));
+	}
+
+	@Test
+	@Order(1)
+	void readHeavy() throws Exception {
+		assertSlo("read-heavy", reads());
+	}
+
+	@Test
+	@Order(2)
+	void writeHeavy() throws Exception {
+		assertSlo("write-heavy", writes());
+	}
+
+	/**
+	 * Every request checks the same book in or out through PATCH without a
+	 * version, so concurrent writers should neither conflict nor fail.
+	 */
+	@Test
+	@Order(3)
+	void hotKeyContention() throws Exception {
+		assertSlo("hot-key", hotKeyPatches());
+	}
+
+	private OpenModelRunner.LoadOperation reads() {
+		double listRatio = env.getRequiredProperty("loadtest.read-heavy.list-ratio", Double.class);
+		return draw -> {
+			SplittableRandom random = new SplittableRandom(draw);
+			if (random.nextDouble() < listRatio) {
+				return client.get("/api/books");
+			}
+			return client.get("/api/books/" + ids.get(random.nextInt(ids.size())));
+		};
+	}
+
+	private OpenModelRunner.LoadOperation writes() {
+		return draw -> client.write(draw, ids);
+	}
+
+	private OpenModelRunner.LoadOperation hotKeyPatches() {
+		Long hotId = ids.get(0);
+		return draw -> client.mergePatch("/api/books/" + hotId,
+				Map.of("available", new SplittableRandom(draw).nextBoolean()));
+	}
+
+	private void assertSlo(String workload, OpenModelRunner.LoadOperation operation) throws Exception {
+		WorkloadSpec spec = WorkloadSpec.from(env, workload);
+		LoadResult result = runner.run(spec, operation);
+		log.info(result.summary());
+		List<String> violations = result.sloViolations();
+		assertTrue(violations.isEmpty(), result.summary() + " violates SLO: " + violations);
+	}
+}
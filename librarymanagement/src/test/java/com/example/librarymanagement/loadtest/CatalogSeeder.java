@@ -0,0 +1,46 @@
+package com.example.librarymanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Loads {@code test-data.sql} and adds a generated catalog of the requested
+ * size. Generated books use ISBNs {@code LT-0000001...} and spread over a
+ * fixed pool of authors so author-level statistics have realistic skew.
+ */
+class CatalogSeeder {
+	static final String ISBN_PREFIX = "LT-";
+	private static final int AUTHORS = 500;
+	private static final int BATCH = 1000;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	CatalogSeeder(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	void seed(int catalogSize) {
+		jdbcTemplate.execute("DELETE FROM books");
+		new ResourceDatabasePopulator(new ClassPathResource("test-data.sql")).execute(jdbcTemplate.getDataSource());
+		List<Object[]> batch = new ArrayList<>(BATCH);
+		for (int i = 1; i <= catalogSize; i++) {
+			batch.add(new Object[] { "Load Test Book " + i, "Author " + (i % AUTHORS),
+					String.format("%s%07d", ISBN_PREFIX, i), true });
+			if (batch.size() == BATCH || i == catalogSize) {
+				jdbcTemplate.batchUpdate(
+						"INSERT INTO books (title, author, isbn, available, version) VALUES (?, ?, ?, ?, 0)", batch);
+				batch.clear();
+			}
+		}
+	}
+
+	/** Ids of the generated books, which all carry a version and are safe to update. */
+	List<Long> seededIds() {
+		return jdbcTemplate.queryForList("SELECT id FROM books WHERE isbn LIKE '" + ISBN_PREFIX + "%' ORDER BY id",
+				Long.class);
+	}
+}
@@ -0,0 +1,49 @@
+package com.example.librarymanagement.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of one workload run. Latencies are in microseconds and measured
+ * from each request's intended start time. Conflicts (409) are reported but
+ * do not count against the error budget.
+ */
+record LoadResult(WorkloadSpec spec, Histogram latencies, long completed, long errors, long conflicts,
+		Duration elapsed) {
+
+	double throughput() {
+		return completed / (elapsed.toNanos() / 1e9);
+	}
+
+	double errorRate() {
+		return completed == 0 ? 0 : (double) errors / completed;
+	}
+
+	double p99Millis() {
+		return latencies.getValueAtPercentile(99.0) / 1000.0;
+	}
+
+	List<String> sloViolations() {
+		List<String> violations = new ArrayList<>();
+		if (p99Millis() > spec.p99Millis()) {
+			violations.add(String.format("p99 %.2f ms > %.2f ms", p99Millis(), spec.p99Millis()));
+		}
+		if (throughput() < spec.minThroughput()) {
+			violations.add(String.format("throughput %.1f req/s < %.1f req/s", throughput(), spec.minThroughput()));
+		}
+		if (errorRate() > spec.maxErrorRate()) {
+			violations.add(String.format("error rate %.4f > %.4f", errorRate(), spec.maxErrorRate()));
+		}
+		return violations;
+	}
+
+	String summary() {
+		return String.format("%s: %d requests in %d ms, %.1f req/s, errors %d, conflicts %d, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms",
+				spec.name(), completed, elapsed.toMillis(), throughput(), errors, conflicts,
+				latencies.getValueAtPercentile(50.0) / 1000.0, p99Millis(),
+				latencies.getValueAtPercentile(99.9) / 1000.0, latencies.getMaxValue() / 1000.0);
+	}
+}
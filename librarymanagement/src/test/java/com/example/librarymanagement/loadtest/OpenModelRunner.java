@@ -0,0 +1,116 @@
+package com.example.librarymanagement.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model load generator: requests are issued at a fixed arrival rate no
+ * matter how fast the server answers, and latency is taken from the moment a
+ * request was due rather than when a worker got to it, so queueing behind a
+ * slow server shows up in the histogram instead of being hidden. A 409 is an
+ * expected optimistic-lock conflict and counted apart from errors; any other
+ * non-2xx status or exception is an error.
+ */
+class OpenModelRunner {
+
+	@FunctionalInterface
+	interface LoadOperation {
+		/**
+		 * Issues one request and returns its HTTP status; {@code draw} is a
+		 * seeded random value for picking inputs.
+		 */
+		int call(long draw) throws Exception;
+	}
+
+	// a warm-up round is settled once it keeps up with the offered rate and its p99 is
+	// within this share (or 1 ms) of the previous round's
+	private static final double STABLE_P99_TOLERANCE = 0.2;
+	private static final double STABLE_MIN_THROUGHPUT = 0.95;
+
+	private final int workers;
+	private final long seed;
+
+	OpenModelRunner(int workers, long seed) {
+		this.workers = workers;
+		this.seed = seed;
+	}
+
+	LoadResult run(WorkloadSpec spec, LoadOperation operation) throws InterruptedException {
+		Histogram latencies = new ConcurrentHistogram(3);
+		AtomicLong completed = new AtomicLong();
+		AtomicLong errors = new AtomicLong();
+		AtomicLong conflicts = new AtomicLong();
+		Random random = new Random(seed);
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / spec.ratePerSecond();
+		long total = spec.duration().toNanos() / intervalNanos;
+
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		long start = System.nanoTime();
+		try {
+			for (long i = 0; i < total; i++) {
+				long intended = start + i * intervalNanos;
+				long wait = intended - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				long draw = random.nextLong();
+				executor.execute(() -> {
+					int status;
+					try {
+						status = operation.call(draw);
+					} catch (Exception e) {
+						status = -1;
+					}
+					latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+					completed.incrementAndGet();
+					if (status == 409) {
+						conflicts.incrementAndGet();
+					} else if (status < 200 || status >= 300) {
+						errors.incrementAndGet();
+					}
+				});
+			}
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(5, TimeUnit.MINUTES);
+		}
+		return new LoadResult(spec, latencies, completed.get(), errors.get(), conflicts.get(),
+				Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	/**
+	 * Offers {@code spec}'s load in rounds of {@code round} until a round
+	 * keeps up with the offered rate and its p99 agrees with the previous
+	 * one, so JIT compilation and pool growth are over before anything is
+	 * measured. Returns every round; the last one did
+	 * not settle if {@code maxRounds} were needed.
+	 */
+	List<LoadResult> warmUp(WorkloadSpec spec, LoadOperation operation, Duration round, int maxRounds)
+			throws InterruptedException {
+		WorkloadSpec warmup = new WorkloadSpec(spec.name() + "-warmup", spec.ratePerSecond(), round,
+				Double.MAX_VALUE, 0, 1);
+		List<LoadResult> rounds = new ArrayList<>();
+		double previous = Double.NaN;
+		while (rounds.size() < maxRounds) {
+			LoadResult result = run(warmup, operation);
+			rounds.add(result);
+			double p99 = result.p99Millis();
+			if (result.throughput() >= STABLE_MIN_THROUGHPUT * spec.ratePerSecond()
+					&& Math.abs(p99 - previous) <= Math.max(1.0, STABLE_P99_TOLERANCE * previous)) {
+				break;
+			}
+			previous = p99;
+		}
+		return rounds;
+	}
+}
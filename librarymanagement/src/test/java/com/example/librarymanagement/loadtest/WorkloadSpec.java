@@ -0,0 +1,24 @@
+package com.example.librarymanagement.loadtest;
+
+import java.time.Duration;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Offered load and service level objectives of one workload, read from
+ * {@code loadtest.<name>.*} properties.
+ */
+record WorkloadSpec(String name, int ratePerSecond, Duration duration, double p99Millis, double minThroughput,
+		double maxErrorRate) {
+
+	static WorkloadSpec from(Environment env, String name) {
+		String prefix = "loadtest." + name + ".";
+		return new WorkloadSpec(name,
+				env.getRequiredProperty(prefix + "rate", Integer.class),
+				env.getProperty(prefix + "duration", Duration.class,
+						env.getRequiredProperty("loadtest.duration", Duration.class)),
+				env.getRequiredProperty(prefix + "slo.p99-millis", Double.class),
+				env.getRequiredProperty(prefix + "slo.min-throughput", Double.class),
+				env.getRequiredProperty(prefix + "slo.max-error-rate", Double.class));
+	}
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.jdbc.Sql;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
 import java.util.Optional;
 
 @DataJpaTest
@@ -50,4 +51,62 @@ class BookRepositoryTest {
 		assertFalse(bookRepository.existsByIsbn("9999999999"));
 	}
 
+	@Test
+	void testPatchUpdatesGivenColumnsAndGuardsVersion() {
+		Book book = new Book();
+		book.setTitle("New Book");
+		book.setAuthor("New Author");
+		book.setIsbn("2222222222");
+		Book saved = bookRepository.saveAndFlush(book);
+		Long version = saved.getVersion();
+
+		assertEquals(1, bookRepository.patch(saved.getId(), Map.of("available", false), version));
+		assertEquals(0, bookRepository.patch(saved.getId(), Map.of("title", "Stale"), version));
+
+		Book patched = bookRepository.findById(saved.getId()).orElseThrow();
+		assertFalse(patched.isAvailable());
+		assertEquals("New Book", patched.getTitle());
+		assertEquals(version + 1, patched.getVersion());
+	}
+
+	@Test
+	void testPatchOfUnchangedAvailabilityUpdatesNothing() {
+		Book book = new Book();
+		book.setTitle("New Book");
+		book.setAuthor("New Author");
+		book.setIsbn("3333333333");
+		Book saved = bookRepository.saveAndFlush(book);
+
+		assertEquals(0, bookRepository.patch(saved.getId(), Map.of("available", true), null));
+		assertEquals(1, bookRepository.patch(saved.getId(), Map.of("available", false), null));
+		assertEquals(0, bookRepository.patch(saved.getId(), Map.of("available", false), null));
+	}
+
+	@Test
+	void testFlipAvailabilityOnlyMatchesRealFlipAndKeepsVersion() {
+		Book book = new Book();
+		book.setTitle("New Book");
+		book.setAuthor("New Author");
+		book.setIsbn("4444444444");
+		Book saved = bookRepository.saveAndFlush(book);
+		Long version = saved.getVersion();
+
+		assertEquals(0, bookRepository.flipAvailability(saved.getId(), true));
+		assertEquals(1, bookRepository.flipAvailability(saved.getId(), false));
+
+		Book flipped = bookRepository.findById(saved.getId()).orElseThrow();
+		assertFalse(flipped.isAvailable());
+		assertEquals(version, flipped.getVersion());
+	}
+
+	@Test
+	@Sql(scripts = "/test-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+	void testPatchOfUnversionedRowStartsVersionAtZero() {
+		Long id = bookRepository.findByIsbn("1234567890").orElseThrow().getId();
+
+		assertEquals(1, bookRepository.patch(id, Map.of("title", "Renamed"), null));
+
+		assertEquals(0L, bookRepository.findById(id).orElseThrow().getVersion());
+	}
+
 }
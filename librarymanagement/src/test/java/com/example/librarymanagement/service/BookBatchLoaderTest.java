@@ -0,0 +1,133 @@
+package com.example.librarymanagement.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.example.librarymanagement.entity.Book;
+import com.example.librarymanagement.repository.BookRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BookBatchLoaderTest {
+
+	@Mock
+	private BookRepository bookRepository;
+
+	private BookBatchLoader loader;
+
+	@AfterEach
+	void tearDown() {
+		loader.shutdown();
+	}
+
+	@Test
+	void concurrentLookupsShareOneQuery() throws Exception {
+		loader = new BookBatchLoader(bookRepository, "200ms", 256, 1, "5s");
+		when(bookRepository.findAllByIdChunked(any())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			return ids.stream().filter(id -> id != 3L).map(BookBatchLoaderTest::book).toList();
+		});
+
+		ExecutorService callers = Executors.newFixedThreadPool(4);
+		try {
+			List<CompletableFuture<Optional<Book>>> results = new ArrayList<>();
+			for (long id = 1; id <= 4; id++) {
+				long bookId = id;
+				results.add(CompletableFuture.supplyAsync(() -> loader.load(bookId), callers));
+			}
+
+			assertEquals(1L, results.get(0).get().orElseThrow().getId());
+			assertEquals(2L, results.get(1).get().orElseThrow().getId());
+			assertTrue(results.get(2).get().isEmpty());
+			assertEquals(4L, results.get(3).get().orElseThrow().getId());
+		} finally {
+			callers.shutdown();
+		}
+		verify(bookRepository, times(1)).findAllByIdChunked(any());
+	}
+
+	@Test
+	void fullBatchIsFlushedWithoutWaitingForWindow() {
+		loader = new BookBatchLoader(bookRepository, "1h", 1, 1, "5s");
+		when(bookRepository.findAllByIdChunked(any())).thenReturn(List.of(book(7L)));
+
+		assertEquals(7L, loader.load(7L).orElseThrow().getId());
+	}
+
+	@Test
+	void queryFailureIsPropagatedToCallers() {
+		loader = new BookBatchLoader(bookRepository, "1ms", 256, 1, "5s");
+		when(bookRepository.findAllByIdChunked(any())).thenThrow(new IllegalStateException("database down"));
+
+		IllegalStateException exception = assertThrows(IllegalStateException.class, () -> loader.load(1L));
+		assertEquals("database down", exception.getMessage());
+	}
+
+	@Test
+	void shutdownDrainsEveryQueuedBatch() throws Exception {
+		loader = new BookBatchLoader(bookRepository, "1h", 2, 1, "5s");
+		when(bookRepository.findAllByIdChunked(any())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			return ids.stream().map(BookBatchLoaderTest::book).toList();
+		});
+
+		ExecutorService callers = Executors.newFixedThreadPool(5);
+		try {
+			List<CompletableFuture<Optional<Book>>> results = new ArrayList<>();
+			for (long id = 1; id <= 5; id++) {
+				long bookId = id;
+				results.add(CompletableFuture.supplyAsync(() -> loader.load(bookId), callers));
+			}
+			// the odd lookup out waits for a window that never ends
+			Thread.sleep(200);
+			loader.shutdown();
+
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals(i + 1L, results.get(i).get(1, TimeUnit.SECONDS).orElseThrow().getId());
+			}
+			assertEquals(6L, loader.load(6L).orElseThrow().getId());
+		} finally {
+			callers.shutdown();
+		}
+	}
+
+	@Test
+	void slowQueryTimesOut() {
+		loader = new BookBatchLoader(bookRepository, "1ms", 256, 1, "50ms");
+		CountDownLatch release = new CountDownLatch(1);
+		when(bookRepository.findAllByIdChunked(any())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return List.of();
+		});
+
+		try {
+			assertThrows(QueryTimeoutException.class, () -> loader.load(1L));
+		} finally {
+			release.countDown();
+		}
+	}
+
+	private static Book book(Long id) {
+		Book book = new Book();
+		book.setId(id);
+		book.setTitle("Book " + id);
+		return book;
+	}
+}
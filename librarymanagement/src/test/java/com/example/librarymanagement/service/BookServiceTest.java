@@ -1,7 +1,12 @@
 package com.example.librarymanagement.service;
 
+import com.example.librarymanagement.audit.AuditAction;
+import com.example.librarymanagement.audit.AuditService;
 import com.example.librarymanagement.entity.Book;
+import com.example.librarymanagement.exception.BookNotFoundException;
+import com.example.librarymanagement.exception.InvalidRequestException;
 import com.example.librarymanagement.repository.BookRepository;
+import com.example.librarymanagement.stats.PopularityService;
 
 import jakarta.persistence.OptimisticLockException;
 
@@ -15,7 +20,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -26,6 +33,15 @@ class BookServiceTest {
 	@Mock
 	private BookRepository bookRepository;
 
+	@Mock
+	private AuditService auditService;
+
+	@Mock
+	private PopularityService popularityService;
+
+	@Mock
+	private BookBatchLoader bookBatchLoader;
+
 	@InjectMocks
 	private BookService bookService;
 
@@ -50,6 +66,7 @@ class BookServiceTest {
         assertNotNull(result);
         assertEquals("Test Book", result.getTitle());
         verify(bookRepository).save(any(Book.class));
+        verify(auditService).record(AuditAction.CREATE, testBook, null);
     }
 
 	@Test
@@ -78,7 +95,7 @@ class BookServiceTest {
 
 	@Test
     void getBookById_Success() {
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookBatchLoader.load(1L)).thenReturn(Optional.of(testBook));
 
         Optional<Book> result = bookService.getBookById(1L);
 
@@ -88,13 +105,51 @@ class BookServiceTest {
 
 	@Test
     void getBookById_NotFound() {
-        when(bookRepository.findById(999L)).thenReturn(Optional.empty());
+        when(bookBatchLoader.load(999L)).thenReturn(Optional.empty());
 
         Optional<Book> result = bookService.getBookById(999L);
 
         assertTrue(result.isEmpty());
     }
 
+	@Test
+	void getBooksByIds_PreservesOrderAndReportsMissing() {
+		Book book2 = new Book();
+		book2.setId(2L);
+		book2.setTitle("Book 2");
+		when(bookRepository.findAllByIdChunked(any())).thenReturn(List.of(testBook, book2));
+
+		BatchLookupResult<Long> result = bookService.getBooksByIds(List.of(2L, 999L, 1L, 2L));
+
+		assertEquals(List.of(book2, testBook), result.books());
+		assertEquals(List.of(999L), result.missing());
+		verify(bookRepository, times(1)).findAllByIdChunked(any());
+	}
+
+	@Test
+	void getBooksByIsbns_ReportsMissing() {
+		when(bookRepository.findByIsbnInChunked(any())).thenReturn(List.of(testBook));
+
+		BatchLookupResult<String> result = bookService.getBooksByIsbns(List.of("0000000000", "1234567890"));
+
+		assertEquals(List.of(testBook), result.books());
+		assertEquals(List.of("0000000000"), result.missing());
+	}
+
+	@Test
+	void getBooksByIds_TooManyKeys_ThrowsException() {
+		List<Long> ids = LongStream.rangeClosed(1, BookService.MAX_BATCH_KEYS + 1).boxed().toList();
+
+		assertThrows(InvalidRequestException.class, () -> bookService.getBooksByIds(ids));
+		verifyNoInteractions(bookRepository);
+	}
+
+	@Test
+	void getBooksByIds_NoKeys_ThrowsException() {
+		assertThrows(InvalidRequestException.class, () -> bookService.getBooksByIds(List.of()));
+		verifyNoInteractions(bookRepository);
+	}
+
 	@Test
 	void updateBook_Success() {
 		Book updatedBook = new Book();
@@ -108,6 +163,26 @@ class BookServiceTest {
 
 		assertEquals("Updated Title", result.getTitle());
 		verify(bookRepository).save(testBook);
+		verify(auditService).record(AuditAction.UPDATE, testBook, null);
+		verifyNoInteractions(popularityService);
+	}
+
+	@Test
+	void updateBook_AvailabilityChange_AuditedAsCheckout() {
+		testBook.setVersion(3L);
+		Book checkedOut = new Book();
+		checkedOut.setTitle("Test Book");
+		checkedOut.setAuthor("Test Author");
+		checkedOut.setIsbn("1234567890");
+		checkedOut.setAvailable(false);
+		checkedOut.setVersion(3L);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+		when(bookRepository.save(testBook)).thenReturn(testBook);
+
+		bookService.updateBook(1L, checkedOut);
+
+		verify(auditService).record(AuditAction.CHECKOUT, testBook, 3L);
+		verify(popularityService).recordCheckout("Test Author");
 	}
 
 	@Test
@@ -152,8 +227,136 @@ class BookServiceTest {
         assertTrue(ex.getMessage().contains("Concurrent update detected for book with id: " + bookId));
         verify(bookRepository).findById(bookId);
         verify(bookRepository).save(any(Book.class));
+        verifyNoInteractions(auditService);
     }
 
+	@Test
+	void patchBook_UpdatesOnlyGivenFields() {
+		testBook.setVersion(2L);
+		when(bookRepository.patch(1L, Map.of("title", "Patched Title"), null)).thenReturn(1);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		Book result = bookService.patchBook(1L, Map.of("title", "Patched Title"));
+
+		assertSame(testBook, result);
+		verify(bookRepository, never()).save(any(Book.class));
+		verify(auditService).record(AuditAction.UPDATE, testBook, 1L);
+	}
+
+	@Test
+	void patchBook_VersionMismatch_ThrowsOptimisticLockException() {
+		Map<String, Object> patch = Map.of("available", false, "version", 1);
+		testBook.setVersion(2L);
+		when(bookRepository.patch(1L, Map.of("available", false), 1L)).thenReturn(0);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		OptimisticLockException ex = assertThrows(OptimisticLockException.class,
+				() -> bookService.patchBook(1L, patch));
+
+		assertEquals("Concurrent update detected for book with id: 1", ex.getMessage());
+		verifyNoInteractions(auditService);
+	}
+
+	@Test
+	void patchBook_NotFound_ThrowsException() {
+		when(bookRepository.patch(999L, Map.of("title", "Patched Title"), null)).thenReturn(0);
+		when(bookRepository.findById(999L)).thenReturn(Optional.empty());
+
+		assertThrows(BookNotFoundException.class, () -> bookService.patchBook(999L, Map.of("title", "Patched Title")));
+	}
+
+	@Test
+	void patchBook_Checkout_AuditedWithPreviousVersion() {
+		testBook.setAvailable(false);
+		testBook.setVersion(5L);
+		when(bookRepository.patch(1L, Map.of("available", false), null)).thenReturn(1);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		bookService.patchBook(1L, Map.of("available", false));
+
+		verify(auditService).record(AuditAction.CHECKOUT, testBook, 4L);
+		verify(popularityService).recordCheckout("Test Author");
+	}
+
+	@Test
+	void patchBook_CheckoutWithOtherFields_AuditedAsCheckout() {
+		testBook.setAvailable(false);
+		testBook.setVersion(5L);
+		when(bookRepository.patch(1L, Map.of("title", "Patched Title"), null)).thenReturn(1);
+		when(bookRepository.flipAvailability(1L, false)).thenReturn(1);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		bookService.patchBook(1L, Map.of("available", false, "title", "Patched Title"));
+
+		verify(auditService).record(AuditAction.CHECKOUT, testBook, 4L);
+		verify(popularityService).recordCheckout("Test Author");
+	}
+
+	@Test
+	void patchBook_UnchangedAvailabilityWithOtherFields_AuditedAsUpdate() {
+		testBook.setAvailable(false);
+		testBook.setVersion(5L);
+		when(bookRepository.patch(1L, Map.of("title", "Patched Title"), null)).thenReturn(1);
+		when(bookRepository.flipAvailability(1L, false)).thenReturn(0);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		bookService.patchBook(1L, Map.of("available", false, "title", "Patched Title"));
+
+		verify(auditService).record(AuditAction.UPDATE, testBook, 4L);
+		verifyNoInteractions(popularityService);
+	}
+
+	@Test
+	void patchBook_VersionOnlyMismatch_ThrowsOptimisticLockException() {
+		testBook.setVersion(2L);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		assertThrows(OptimisticLockException.class, () -> bookService.patchBook(1L, Map.of("version", 99)));
+		verify(bookRepository, never()).patch(anyLong(), any(), any());
+	}
+
+	@Test
+	void patchBook_VersionOnlyMatch_ReturnsBook() {
+		testBook.setVersion(2L);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		assertSame(testBook, bookService.patchBook(1L, Map.of("version", 2)));
+		verifyNoInteractions(auditService);
+	}
+
+	@Test
+	void patchBook_AvailabilityUnchanged_IsNoOp() {
+		testBook.setAvailable(false);
+		testBook.setVersion(5L);
+		when(bookRepository.patch(1L, Map.of("available", false), null)).thenReturn(0);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		Book result = bookService.patchBook(1L, Map.of("available", false));
+
+		assertSame(testBook, result);
+		verifyNoInteractions(auditService, popularityService);
+	}
+
+	@Test
+	void patchBook_UnversionedRow_AuditsNullBeforeVersion() {
+		testBook.setVersion(0L);
+		when(bookRepository.patch(1L, Map.of("title", "Patched Title"), null)).thenReturn(1);
+		when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+		bookService.patchBook(1L, Map.of("title", "Patched Title"));
+
+		verify(auditService).record(AuditAction.UPDATE, testBook, null);
+	}
+
+	@Test
+	void patchBook_UnknownField_ThrowsException() {
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> bookService.patchBook(1L, Map.of("id", 5)));
+
+		assertEquals("Field cannot be patched: id", exception.getMessage());
+		verify(bookRepository, never()).patch(anyLong(), any(), any());
+	}
+
 	@Test
     void deleteBook_Success() {
         when(bookRepository.existsById(1L)).thenReturn(true);
@@ -161,6 +364,7 @@ class BookServiceTest {
         bookService.deleteBook(1L);
 
         verify(bookRepository).deleteById(1L);
+        verify(auditService).recordDelete(1L);
     }
 
 	@Test
@@ -0,0 +1,54 @@
+package com.example.librarymanagement.stats;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.librarymanagement.exception.InvalidRequestException;
+
+class PopularityServiceTest {
+
+	private final PopularityService popularityService = new PopularityService("1m", 60, 4, 256, 64);
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void checkoutIsCountedOnlyAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		popularityService.recordCheckout("Author A");
+
+		assertTrue(popularityService.top("15m", 10).authors().isEmpty());
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+		assertEquals(List.of(new TopEntry("Author A", 1)), popularityService.top("15m", 10).authors());
+	}
+
+	@Test
+	void rolledBackCheckoutIsNotCounted() {
+		TransactionSynchronizationManager.initSynchronization();
+		popularityService.recordCheckout("Author A");
+
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		assertTrue(popularityService.top("15m", 10).authors().isEmpty());
+	}
+
+	@Test
+	void rejectsInvalidWindowAndLimit() {
+		assertThrows(InvalidRequestException.class, () -> popularityService.top("soon", 10));
+		assertThrows(InvalidRequestException.class, () -> popularityService.top("2h", 10));
+		assertThrows(InvalidRequestException.class, () -> popularityService.top("0s", 10));
+		assertThrows(InvalidRequestException.class, () -> popularityService.top("15m", 0));
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.librarymanagement.stats;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingTopKTest {
+
+	private static final long MINUTE = 60_000L;
+
+	private final SlidingTopK topK = new SlidingTopK(Duration.ofMinutes(1), 10, 4, 256, 4, 64);
+
+	@Test
+	void countMinSketchNeverUndercounts() {
+		ShardedCountMinSketch sketch = new ShardedCountMinSketch(4, 64, 2);
+		for (int i = 0; i < 1000; i++) {
+			sketch.add("key-" + (i % 100), 1);
+		}
+		for (int i = 0; i < 100; i++) {
+			assertTrue(sketch.estimate("key-" + i) >= 10);
+		}
+	}
+
+	@Test
+	void heavyHittersSurviveAmongManyRareKeys() {
+		long now = 10 * MINUTE;
+		for (int i = 0; i < 5_000; i++) {
+			topK.record("rare-" + i, now);
+			if (i % 10 == 0) {
+				topK.record("hot", now);
+			}
+			if (i % 20 == 0) {
+				topK.record("warm", now);
+			}
+		}
+
+		List<TopEntry> top = topK.top(Duration.ofMinutes(1), 2, now);
+
+		assertEquals(2, top.size());
+		assertEquals("hot", top.get(0).key());
+		assertTrue(top.get(0).count() >= 500);
+		assertEquals("warm", top.get(1).key());
+	}
+
+	@Test
+	void windowOnlyCountsRecentBuckets() {
+		long now = 100 * MINUTE;
+		for (int i = 0; i < 50; i++) {
+			topK.record("old", now - 5 * MINUTE);
+		}
+		for (int i = 0; i < 10; i++) {
+			topK.record("new", now);
+		}
+
+		assertEquals("new", topK.top(Duration.ofMinutes(2), 10, now).get(0).key());
+		assertEquals("old", topK.top(Duration.ofMinutes(10), 10, now).get(0).key());
+	}
+
+	@Test
+	void expiredBucketsAreRecycled() {
+		long start = 100 * MINUTE;
+		topK.record("stale", start);
+		topK.record("fresh", start + 10 * MINUTE);
+
+		List<TopEntry> top = topK.top(Duration.ofMinutes(10), 10, start + 10 * MINUTE);
+
+		assertEquals(List.of(new TopEntry("fresh", 1)), top);
+	}
+
+	@Test
+	void rejectsWindowLongerThanRetainedHistory() {
+		assertThrows(IllegalArgumentException.class, () -> topK.top(Duration.ofHours(1), 10, 0L));
+	}
+}